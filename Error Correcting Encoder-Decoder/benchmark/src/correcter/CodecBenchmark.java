@@ -0,0 +1,164 @@
+package correcter;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every codec and of the interference generator. Besides the operations per second,
+ * the megabytes counter reports the payload MB/s, a megabyte being 2^20 bytes of the original signal
+ * whatever the direction, so the encoders and decoders of the same codec can be compared.
+ * The allocation rate comes from the gc profiler, which gradle run enables.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class CodecBenchmark {
+
+    private static final double MEGABYTE = 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+
+        @Param({"64", "4096", "65536", "1048576", "16777216", "268435456"})
+        public int size;
+
+        byte[] signal;
+        byte[] hammingEncoded;
+        byte[] bitEncoded;
+        byte[] channel;
+        byte[] received;
+        NoiseChannel singleBitChannel;
+        NoiseChannel binarySymmetricChannel;
+        String text;
+        String textEncoded;
+        double megabytes;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(size);
+
+            signal = new byte[size];
+            random.nextBytes(signal);
+            hammingEncoded = InterferenceGenerator.interfere(HammingEncoder.encode(signal));
+            bitEncoded = InterferenceGenerator.interfere(Encoder.encode(signal));
+            channel = HammingEncoder.encode(signal);
+            received = new byte[channel.length];
+            singleBitChannel = new NoiseChannel(ErrorModel.singleBit(), size);
+            binarySymmetricChannel = new NoiseChannel(ErrorModel.binarySymmetric(1e-3), size);
+
+            char[] characters = new char[size];
+            for (int i = 0; i < characters.length; i++) {
+                characters[i] = (char) (' ' + random.nextInt('~' - ' '));
+            }
+            text = new String(characters);
+            textEncoded = new InterferenceGenerator().interfere(Encoder.encode(text));
+
+            megabytes = size / MEGABYTE;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+
+        void add(Payload payload) {
+            megabytes += payload.megabytes;
+        }
+    }
+
+    @Benchmark
+    public byte[] hammingEncode(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return HammingEncoder.encode(payload.signal);
+    }
+
+    @Benchmark
+    public byte[] hammingDecode(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return HammingDecoder.decode(payload.hammingEncoded);
+    }
+
+    @Benchmark
+    public byte[] hammingDecodeWords(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        byte[] signal = new byte[payload.size];
+        HammingDecoder.decodeWords(payload.hammingEncoded, 0, payload.size / Integer.BYTES, signal, 0);
+        return signal;
+    }
+
+    @Benchmark
+    public byte[] bitEncode(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return Encoder.encode(payload.signal);
+    }
+
+    @Benchmark
+    public byte[] bitDecode(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return Decoder.decode(payload.bitEncoded);
+    }
+
+    @Benchmark
+    public String symbolEncode(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return Encoder.encode(payload.text);
+    }
+
+    @Benchmark
+    public String symbolDecode(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return Decoder.decode(payload.textEncoded);
+    }
+
+    /**
+     * Flips one bit of every byte in place, the channel array keeps alternating between two states
+     */
+    @Benchmark
+    public byte[] interfereBytes(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return InterferenceGenerator.interfere(payload.channel);
+    }
+
+    @Benchmark
+    public String interfereText(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        return new InterferenceGenerator().interfere(payload.text);
+    }
+
+    @Benchmark
+    public byte[] singleBitNoise(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        payload.singleBitChannel.transmit(payload.channel, 0, payload.channel.length, payload.received, 0, 0);
+        return payload.received;
+    }
+
+    @Benchmark
+    public byte[] binarySymmetricNoise(Payload payload, Throughput throughput) {
+        throughput.add(payload);
+        payload.binarySymmetricChannel.transmit(payload.channel, 0, payload.channel.length, payload.received, 0, 0);
+        return payload.received;
+    }
+}
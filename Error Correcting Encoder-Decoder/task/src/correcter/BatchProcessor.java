@@ -0,0 +1,233 @@
+package correcter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs a mode of Main over many files at once, each output file at the path of its input file relative to the
+ * source directory or manifest, within an output directory. Every file is read on the I/O pool, converted in
+ * memory on the bounded CPU pool with Main.apply and written back on the I/O pool, so the disks and the cores
+ * are kept busy together. Files in flight are limited, which bounds the memory to a few files per thread. A line
+ * is printed as every file completes, with its throughput from the start of its read to the end of its write.
+ */
+final class BatchProcessor {
+
+    private final Main options;
+    private final int ioThreads;
+    private final int cpuThreads;
+
+    /**
+     * @param options    Main whose options the files are converted with
+     * @param ioThreads  threads reading and writing the files
+     * @param cpuThreads threads converting them
+     */
+    BatchProcessor(Main options, int ioThreads, int cpuThreads) {
+        if (ioThreads <= 0 || cpuThreads <= 0) {
+            throw new IllegalArgumentException("The thread counts must be positive: " + ioThreads + ", "
+                    + cpuThreads);
+        }
+        this.options = options;
+        this.ioThreads = ioThreads;
+        this.cpuThreads = cpuThreads;
+    }
+
+    /**
+     * @param source directory whose regular files are the inputs, or manifest file listing one input per line,
+     *               relative to the manifest directory
+     * @return the input files, sorted for a directory and in the manifest order otherwise
+     */
+    static List<Path> listInputs(Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        }
+
+        List<Path> inputs = new ArrayList<>();
+        Path base = source.toAbsolutePath().getParent();
+        for (String line : Files.readAllLines(source)) {
+            if (!line.isBlank()) {
+                inputs.add(base.resolve(line.trim()));
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * @return the directory the inputs of the source are relative to
+     */
+    static Path baseOf(Path source) {
+        return Files.isDirectory(source) ? source : source.toAbsolutePath().getParent();
+    }
+
+    /**
+     * Converts every input file into the output directory, a file failing does not stop the others. An input
+     * outside the base directory is written under its file name, the inputs whose output path was already
+     * taken by a previous one fail.
+     *
+     * @param base     directory the output paths are relative to
+     * @param progress receives a line per file
+     */
+    Report process(Mode mode, Path base, List<Path> inputs, Path outputDirectory, PrintStream progress)
+            throws IOException {
+        Files.createDirectories(outputDirectory);
+        Path absoluteBase = base.toAbsolutePath().normalize();
+        Map<Path, Path> outputs = new HashMap<>();
+
+        ExecutorService io = Executors.newFixedThreadPool(ioThreads, new DaemonThreadFactory("batch-io-"));
+        ExecutorService cpu = Executors.newFixedThreadPool(cpuThreads, new DaemonThreadFactory("batch-cpu-"));
+        Semaphore inFlight = new Semaphore(2 * (ioThreads + cpuThreads));
+        Report report = new Report(inputs.size());
+        long start = System.nanoTime();
+
+        try {
+            List<CompletableFuture<Void>> files = new ArrayList<>(inputs.size());
+            for (Path input : inputs) {
+                Path output = outputDirectory.resolve(relativePath(absoluteBase, input));
+                Path previous = outputs.putIfAbsent(output, input);
+                if (previous != null) {
+                    report.complete(input, System.nanoTime(), new FileAlreadyExistsException(output.toString(),
+                            previous.toString(), "same output path"), progress);
+                    continue;
+                }
+
+                inFlight.acquireUninterruptibly();
+                long fileStart = System.nanoTime();
+
+                files.add(CompletableFuture.supplyAsync(() -> read(input), io)
+                        .thenApplyAsync(signal -> convert(mode, signal, report), cpu)
+                        .thenAcceptAsync(converted -> write(output, converted), io)
+                        .whenComplete((ignored, failure) -> {
+                            inFlight.release();
+                            report.complete(input, fileStart, failure, progress);
+                        }));
+            }
+            CompletableFuture.allOf(files.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(failure -> null)
+                    .join();
+        } finally {
+            io.shutdown();
+            cpu.shutdown();
+        }
+
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * @return path of the input relative to the base, its file name when it is outside of it
+     */
+    private static Path relativePath(Path base, Path input) {
+        Path relative = base.relativize(input.toAbsolutePath().normalize());
+        return relative.startsWith("..") ? input.getFileName() : relative;
+    }
+
+    private static byte[] read(Path input) {
+        try {
+            return Files.readAllBytes(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] convert(Mode mode, byte[] signal, Report report) {
+        try {
+            byte[] converted = options.apply(mode, signal);
+            report.inputBytes.addAndGet(signal.length);
+            report.outputBytes.addAndGet(converted.length);
+            return converted;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path output, byte[] converted) {
+        try {
+            Files.createDirectories(output.getParent());
+            Files.write(output, converted);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Outcome of a batch, filled in as the files complete
+     */
+    static final class Report {
+        private final int files;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicLong inputBytes = new AtomicLong();
+        private final AtomicLong outputBytes = new AtomicLong();
+        private final List<Path> failed = Collections.synchronizedList(new ArrayList<>());
+        private volatile long elapsedNanos;
+
+        private Report(int files) {
+            this.files = files;
+        }
+
+        private void complete(Path input, long start, Throwable failure, PrintStream progress) {
+            int done = completed.incrementAndGet();
+            if (failure != null) {
+                failed.add(input);
+                Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                progress.printf("[%d/%d] %s failed: %s%n", done, files, input, cause);
+                return;
+            }
+
+            long nanos = System.nanoTime() - start;
+            long length = input.toFile().length();
+            progress.printf("[%d/%d] %s %d bytes %.1f MB/s%n", done, files, input, length,
+                    megabytesPerSecond(length, nanos));
+        }
+
+        int files() {
+            return files;
+        }
+
+        long inputBytes() {
+            return inputBytes.get();
+        }
+
+        long outputBytes() {
+            return outputBytes.get();
+        }
+
+        List<Path> failed() {
+            synchronized (failed) {
+                return new ArrayList<>(failed);
+            }
+        }
+
+        boolean isComplete() {
+            return failed.isEmpty();
+        }
+
+        private static double megabytesPerSecond(long bytes, long nanos) {
+            return nanos == 0 ? 0 : bytes * 1000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d files, %d failed, %d bytes read, %d bytes written in %.3f s, %.1f MB/s",
+                    files, failed.size(), inputBytes(), outputBytes(), elapsedNanos / 1e9,
+                    megabytesPerSecond(inputBytes(), elapsedNanos));
+        }
+    }
+}
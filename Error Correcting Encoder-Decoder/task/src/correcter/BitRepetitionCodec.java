@@ -0,0 +1,67 @@
+package correcter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bit-level code of Encoder and Decoder, every three bits are doubled next to a doubled parity bit
+ */
+class BitRepetitionCodec implements Codec {
+
+    static final String NAME = "bit-repetition";
+    static final byte ID = 2;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public int signalBlock() {
+        return 3;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return 8;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return Encoder.encodedLength(length);
+    }
+
+    @Override
+    public int decodedLength(int encodedLength) {
+        return Decoder.decodedLength(encodedLength);
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        return Encoder.encode(signal, offset, length, encodedSignal, encodedOffset);
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        return Decoder.decode(encodedSignal, encodedOffset, encodedLength, signal, offset);
+    }
+
+    @Override
+    public int encode(ByteBuffer signal, ByteBuffer encodedSignal) {
+        return Encoder.encode(signal, encodedSignal);
+    }
+
+    @Override
+    public int decode(ByteBuffer encodedSignal, ByteBuffer signal) {
+        return Decoder.decode(encodedSignal, signal);
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+}
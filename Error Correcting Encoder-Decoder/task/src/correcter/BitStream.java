@@ -0,0 +1,157 @@
+package correcter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Bits packed in a byte array, the first one in the highest bit of the first byte, for the codes whose symbols
+ * cross the byte boundaries. Both sides keep a 64-bit accumulator and move whole longs to and from the array
+ * while they can, so reading or writing a symbol is a couple of shifts without a branch per bit.
+ */
+final class BitStream {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.BIG_ENDIAN);
+
+    private BitStream() {
+    }
+
+    /**
+     * Writes bits into a range of a byte array
+     */
+    static final class Writer {
+        private final byte[] destination;
+        private final int limit;
+        private int index;
+
+        /**
+         * Pending bits from the highest one
+         */
+        private long bits;
+        private int pending;
+
+        /**
+         * @param length bytes of the range, the bits written past it are dropped
+         */
+        Writer(byte[] destination, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, destination.length);
+            this.destination = destination;
+            this.index = offset;
+            this.limit = offset + length;
+        }
+
+        /**
+         * @param value  bits in its lowest ones, the others are 0
+         * @param length amount of bits, from 0 to 64
+         */
+        void write(long value, int length) {
+            int free = Long.SIZE - pending;
+            if (length < free) {
+                bits |= value << (free - length);
+                pending += length;
+                return;
+            }
+
+            int rest = length - free;
+            store(bits | value >>> rest);
+            index += Long.BYTES;
+            bits = rest == 0 ? 0 : value << (Long.SIZE - rest);
+            pending = rest;
+        }
+
+        /**
+         * Writes the pending bits followed by zeros up to a whole byte, within the range
+         *
+         * @return index past the last byte written
+         */
+        int flush() {
+            for (; pending > 0 && index < limit; pending -= Byte.SIZE) {
+                destination[index++] = (byte) (bits >>> (Long.SIZE - Byte.SIZE));
+                bits <<= Byte.SIZE;
+            }
+            bits = 0;
+            pending = 0;
+            return Math.min(index, limit);
+        }
+
+        /**
+         * Stores a whole long at the index, near the end of the range only its bytes within the range
+         */
+        private void store(long word) {
+            if (index + Long.BYTES <= limit) {
+                LONG_VIEW.set(destination, index, word);
+                return;
+            }
+            for (int i = index; i < limit && i < index + Long.BYTES; i++) {
+                destination[i] = (byte) (word >>> (Long.SIZE - Byte.SIZE * (i - index + 1)));
+            }
+        }
+    }
+
+    /**
+     * Reads bits from a range of a byte array, the bits past its end read as 0
+     */
+    static final class Reader {
+
+        /**
+         * Bits always available after a refill
+         */
+        private static final int REFILLED = Long.SIZE - Byte.SIZE;
+
+        private final byte[] source;
+        private final int limit;
+        private int index;
+
+        /**
+         * Available bits from the highest one, the lower ones are 0 or the next bits of the source
+         */
+        private long bits;
+        private int available;
+
+        Reader(byte[] source, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, source.length);
+            this.source = source;
+            this.index = offset;
+            this.limit = offset + length;
+        }
+
+        /**
+         * @param length amount of bits, from 1 to 64
+         * @return the bits in the lowest ones
+         */
+        long read(int length) {
+            if (length > REFILLED) {
+                int low = length - Integer.SIZE;
+                return read(Integer.SIZE) << low | read(low);
+            }
+            if (available < length) {
+                refill();
+            }
+
+            long value = bits >>> (Long.SIZE - length);
+            bits <<= length;
+            available -= length;
+            return value;
+        }
+
+        /**
+         * Loads the next long at the first byte not fully available, which is the same as the bits already there
+         * where they overlap, so it needs no masking. Near the end of the range the bytes are loaded one by one.
+         */
+        private void refill() {
+            if (index + Long.BYTES <= limit) {
+                bits |= (long) LONG_VIEW.get(source, index) >>> available;
+                index += (Long.SIZE - 1 - available) >>> 3;
+                available |= REFILLED;
+                return;
+            }
+            for (; available <= REFILLED; available += Byte.SIZE) {
+                if (index < limit) {
+                    bits |= (source[index++] & 0xFFL) << (REFILLED - available);
+                }
+            }
+        }
+    }
+}
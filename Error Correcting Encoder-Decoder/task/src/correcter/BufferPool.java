@@ -0,0 +1,71 @@
+package correcter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Heap buffers of one size, reused instead of allocated for every chunk of a stream. A buffer is owned by one
+ * party at a time: whoever acquires it passes it on with the data, and the last one reading it releases it.
+ * Buffers released while the pool is full are left to the garbage collector.
+ */
+final class BufferPool {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    static final int DEFAULT_CAPACITY = 256;
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> buffers;
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    BufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param bufferSize bytes of every buffer
+     * @param capacity   buffers kept for reuse at most
+     */
+    BufferPool(int bufferSize, int capacity) {
+        if (bufferSize <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("The buffer size and the capacity must be positive: " + bufferSize
+                    + ", " + capacity);
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return amount of buffers allocated so far, the ones reused are not counted again
+     */
+    int allocated() {
+        return allocated.get();
+    }
+
+    /**
+     * @return an empty buffer of bufferSize bytes backed by an array
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            allocated.incrementAndGet();
+            return ByteBuffer.allocate(bufferSize);
+        }
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back for reuse, buffers which did not come from a pool of this size are ignored
+     */
+    void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && buffer.hasArray() && !buffer.isReadOnly()) {
+            buffer.clear();
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package correcter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An error correcting scheme. The signal is encoded in independent blocks: every signalBlock bytes of the signal
+ * become encodedBlock bytes, so a range starting at a block boundary can be encoded or decoded on its own.
+ * Implementations are found by the CodecRegistry, either built in or through the ServiceLoader.
+ */
+public interface Codec {
+
+    /**
+     * @return name used to select the codec, e.g. on the command line
+     */
+    String name();
+
+    /**
+     * @return identifier written in the encoded stream header, unique between the registered codecs
+     */
+    byte id();
+
+    /**
+     * @return amount of signal bytes of an independent block
+     */
+    int signalBlock();
+
+    /**
+     * @return amount of encoded bytes of an independent block
+     */
+    int encodedBlock();
+
+    int encodedLength(int length);
+
+    int decodedLength(int encodedLength);
+
+    /**
+     * Encodes a range of the signal into the destination, which needs room for encodedLength(length) bytes
+     *
+     * @return amount of bytes written
+     */
+    int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset);
+
+    /**
+     * Decodes a range of the received signal into the destination, which needs room for
+     * decodedLength(encodedLength) bytes
+     *
+     * @return amount of bytes written
+     */
+    int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset);
+
+    /**
+     * @return true when encode and decode keep no state between calls
+     */
+    boolean isStateless();
+
+    /**
+     * @return true when the same instance can encode and decode on several threads at once
+     */
+    default boolean isThreadSafe() {
+        return isStateless();
+    }
+
+    /**
+     * @return signal bits per encoded bit
+     */
+    default double codeRate() {
+        return (double) signalBlock() / encodedBlock();
+    }
+
+    default byte[] encode(byte[] signal) {
+        byte[] encodedSignal = new byte[encodedLength(signal.length)];
+        encode(signal, 0, signal.length, encodedSignal, 0);
+        return encodedSignal;
+    }
+
+    default byte[] decode(byte[] encodedSignal) {
+        byte[] signal = new byte[decodedLength(encodedSignal.length)];
+        decode(encodedSignal, 0, encodedSignal.length, signal, 0);
+        return signal;
+    }
+
+    /**
+     * Encodes the remaining bytes of the signal into the destination. Buffers without a backing array
+     * are copied, codecs able to work on them directly override it.
+     *
+     * @return amount of bytes written
+     */
+    default int encode(ByteBuffer signal, ByteBuffer encodedSignal) {
+        Coder.checkRemaining(encodedSignal, encodedLength(signal.remaining()));
+
+        if (signal.hasArray() && encodedSignal.hasArray()) {
+            return Coder.applyToArrays(signal, encodedSignal, this::encode);
+        }
+
+        byte[] signalBytes = new byte[signal.remaining()];
+        signal.get(signalBytes);
+        byte[] encodedBytes = encode(signalBytes);
+        encodedSignal.put(encodedBytes);
+        return encodedBytes.length;
+    }
+
+    /**
+     * Decodes the remaining bytes of the received signal into the destination. Buffers without a backing array
+     * are copied, codecs able to work on them directly override it.
+     *
+     * @return amount of bytes written
+     */
+    default int decode(ByteBuffer encodedSignal, ByteBuffer signal) {
+        Coder.checkRemaining(signal, decodedLength(encodedSignal.remaining()));
+
+        if (encodedSignal.hasArray() && signal.hasArray()) {
+            return Coder.applyToArrays(encodedSignal, signal, this::decode);
+        }
+
+        byte[] encodedBytes = new byte[encodedSignal.remaining()];
+        encodedSignal.get(encodedBytes);
+        byte[] signalBytes = decode(encodedBytes);
+        signal.put(signalBytes);
+        return signalBytes.length;
+    }
+}
@@ -0,0 +1,29 @@
+package correcter;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Channel counterparts of EncodingOutputStream and DecodingInputStream, for the code using NIO channels
+ */
+final class CodecChannels {
+
+    private CodecChannels() {
+    }
+
+    /**
+     * @return channel encoding what is written to it into the channel, closing it encodes the trailing partial
+     * block and closes the channel
+     */
+    static WritableByteChannel encoding(WritableByteChannel channel, Codec codec) {
+        return Channels.newChannel(new EncodingOutputStream(Channels.newOutputStream(channel), codec));
+    }
+
+    /**
+     * @return channel decoding what it reads from the channel
+     */
+    static ReadableByteChannel decoding(ReadableByteChannel channel, Codec codec) {
+        return Channels.newChannel(new DecodingInputStream(Channels.newInputStream(channel), codec));
+    }
+}
@@ -0,0 +1,91 @@
+package correcter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codecs selectable at runtime by name or by stream header identifier. The built in codecs are always
+ * registered, others are loaded with the ServiceLoader from META-INF/services/correcter.Codec
+ * or registered by hand.
+ */
+public final class CodecRegistry {
+
+    static final String DEFAULT_CODEC = HammingCodec.NAME;
+
+    private static final Map<String, Codec> BY_NAME = new ConcurrentHashMap<>();
+    private static final Map<Byte, Codec> BY_ID = new ConcurrentHashMap<>();
+
+    static {
+        register(new HammingCodec());
+        register(new BitRepetitionCodec());
+        register(new SymbolRepetitionCodec());
+        register(new ExtendedHammingCodec());
+        for (int parityBits = GeneralizedHammingCodec.MIN_PARITY_BITS;
+             parityBits <= GeneralizedHammingCodec.MAX_PARITY_BITS; parityBits++) {
+            register(new GeneralizedHammingCodec(parityBits));
+        }
+        register(new ReedSolomonCodec());
+        for (int copies = 3; copies <= 7; copies += 2) {
+            register(new RepetitionCodec(copies));
+        }
+        for (String name : new String[]{HammingCodec.NAME, ExtendedHammingCodec.NAME, BitRepetitionCodec.NAME}) {
+            register(new InterleavedCodec(BY_NAME.get(name), Interleaver.DEFAULT_DEPTH));
+        }
+
+        for (Codec codec : ServiceLoader.load(Codec.class)) {
+            register(codec);
+        }
+    }
+
+    private CodecRegistry() {
+    }
+
+    /**
+     * Adds the codec to the registry
+     *
+     * @throws IllegalArgumentException if its name or identifier is already taken
+     */
+    public static synchronized void register(Codec codec) {
+        if (BY_NAME.containsKey(codec.name())) {
+            throw new IllegalArgumentException("A codec named " + codec.name() + " is already registered");
+        }
+        if (BY_ID.containsKey(codec.id())) {
+            throw new IllegalArgumentException("The codec id " + codec.id() + " is already taken by "
+                    + BY_ID.get(codec.id()).name());
+        }
+
+        BY_NAME.put(codec.name(), codec);
+        BY_ID.put(codec.id(), codec);
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no codec with that name
+     */
+    public static Codec forName(String name) {
+        Codec codec = BY_NAME.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown codec " + name + ", the available ones are " + names());
+        }
+        return codec;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no codec with that identifier
+     */
+    public static Codec forId(byte id) {
+        Codec codec = BY_ID.get(id);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown codec id " + id);
+        }
+        return codec;
+    }
+
+    public static List<String> names() {
+        List<String> names = new ArrayList<>(BY_NAME.keySet());
+        names.sort(null);
+        return names;
+    }
+}
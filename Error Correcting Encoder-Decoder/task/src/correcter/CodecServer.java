@@ -0,0 +1,297 @@
+package correcter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resident mode of Main, so the JVM start and the JIT warm up are paid once for many files. The jobs come as lines
+ * "MODE input output" on connections to a port of the loopback address, the three fields separated by single tabs
+ * so that the paths may hold spaces, and every line is answered in order with "OK" or "ERROR" and the reason.
+ * The jobs use the options Main was started with. QUIT closes the connection.
+ * <p>
+ * Any local process, or a web page through the browser, can reach the port, so the first line of a connection
+ * must be the token the server writes to a file only its user can read, and the first line that is not a job
+ * closes the connection. The paths are resolved against the root directory and cannot leave it.
+ * <p>
+ * The lines already received on a connection are run together as one batch, up to MAX_BATCH of them, so small
+ * files do not pay for a task each. The batches run on a bounded pool of workers, a batch finding the queue full
+ * runs on the thread of its connection, which stops reading it meanwhile.
+ */
+final class CodecServer implements Closeable {
+
+    static final int MAX_BATCH = 64;
+    static final int MAX_CONNECTIONS = 32;
+
+    static final String QUIT = "QUIT";
+    static final String OK = "OK";
+    static final String ERROR = "ERROR";
+
+    /**
+     * Separates the fields of a job, paths cannot hold it in practice
+     */
+    static final char SEPARATOR = '\t';
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final Job job;
+    private final Path root;
+    private final byte[] token;
+    private final Path tokenFile;
+    private final ServerSocket serverSocket;
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService connections;
+
+    /**
+     * @param options Main whose options the jobs run with
+     * @param port    0 for any free port
+     * @param workers threads running the batches
+     * @param root    directory the paths of the jobs are resolved against and confined to
+     */
+    CodecServer(Main options, int port, int workers, Path root) throws IOException {
+        this(port, workers, root, (mode, input, output) -> options.forFiles(mode, input, output).run(mode));
+    }
+
+    /**
+     * @param job runs every job line, with the paths resolved against the root
+     */
+    CodecServer(int port, int workers, Path root, Job job) throws IOException {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The workers must be positive: " + workers);
+        }
+        this.job = job;
+        this.root = root.toRealPath();
+        this.token = newToken();
+        this.tokenFile = writeToken(token);
+        this.serverSocket = new ServerSocket(port, MAX_CONNECTIONS, InetAddress.getLoopbackAddress());
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), new DaemonThreadFactory("codec-worker-"),
+                (batch, executor) -> batch.run());
+        this.connections = Executors.newFixedThreadPool(MAX_CONNECTIONS, new DaemonThreadFactory("codec-connection-"));
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return file holding the token a connection starts with, readable by the user of the server only
+     */
+    Path tokenFile() {
+        return tokenFile;
+    }
+
+    Path root() {
+        return root;
+    }
+
+    /**
+     * Accepts connections until the server is closed
+     */
+    void run() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            connections.execute(() -> serve(socket));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        workers.shutdown();
+        Files.deleteIfExists(tokenFile);
+    }
+
+    /**
+     * @param lines jobs
+     * @return reply to every job
+     */
+    List<String> runBatch(List<String> lines) {
+        List<String> replies = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            replies.add(runJob(line));
+        }
+        return replies;
+    }
+
+    /**
+     * Every failure of the job is its own reply, the other jobs of the batch still run
+     */
+    private String runJob(String line) {
+        if (!isJob(line)) {
+            return malformed(line);
+        }
+
+        String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+        try {
+            Mode mode = Mode.valueOf(fields[0].trim().toUpperCase(Locale.ROOT));
+            job.run(mode, confine(fields[1]).toString(), confine(fields[2]).toString());
+            return OK;
+        } catch (IOException | RuntimeException e) {
+            return ERROR + " " + e;
+        }
+    }
+
+    /**
+     * @return true when the line has a mode and two paths
+     */
+    private static boolean isJob(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+        if (fields.length != 3 || fields[1].isEmpty() || fields[2].isEmpty()) {
+            return false;
+        }
+        try {
+            Mode.valueOf(fields[0].trim().toUpperCase(Locale.ROOT));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String malformed(String line) {
+        return ERROR + " expected MODE input output separated by tabs: " + line;
+    }
+
+    /**
+     * Resolves the path against the root, following the links of the file and of its directory
+     *
+     * @throws IOException if the directory does not exist or the path leads out of the root
+     */
+    private Path confine(String path) throws IOException {
+        Path file = root.resolve(path).normalize();
+        Path real = Files.exists(file) ? file.toRealPath()
+                : file.getParent().toRealPath().resolve(file.getFileName());
+        if (!real.startsWith(root)) {
+            throw new IOException("The path " + path + " is out of the root directory " + root);
+        }
+        return real;
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                     StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (line == null || !MessageDigest.isEqual(token, line.getBytes(StandardCharsets.UTF_8))) {
+                writer.write(ERROR + " the connection must start with the token of the server\n");
+                return;
+            }
+
+            boolean open = true;
+            while (open && (line = reader.readLine()) != null) {
+                List<String> batch = new ArrayList<>();
+                String rejected = null;
+                do {
+                    if (line.trim().equalsIgnoreCase(QUIT)) {
+                        open = false;
+                    } else if (!isJob(line)) {
+                        rejected = line;
+                        open = false;
+                    } else {
+                        batch.add(line);
+                    }
+                } while (open && batch.size() < MAX_BATCH && reader.ready() && (line = reader.readLine()) != null);
+
+                if (!batch.isEmpty()) {
+                    for (String reply : submit(batch)) {
+                        writer.write(reply);
+                        writer.write('\n');
+                    }
+                }
+                if (rejected != null) {
+                    writer.write(malformed(rejected));
+                    writer.write('\n');
+                }
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Connection closed: " + e);
+        }
+    }
+
+    private List<String> submit(List<String> batch) {
+        try {
+            return workers.submit(() -> runBatch(batch)).get();
+        } catch (ExecutionException e) {
+            return failed(batch, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(batch, e);
+        }
+    }
+
+    private static List<String> failed(List<String> batch, Throwable cause) {
+        List<String> replies = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            replies.add(ERROR + " " + cause);
+        }
+        return replies;
+    }
+
+    private static byte[] newToken() {
+        byte[] random = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(random);
+        StringBuilder token = new StringBuilder(TOKEN_BYTES * 2);
+        for (byte b : random) {
+            token.append(Character.forDigit(b >>> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return token.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the token to a new temporary file, with owner only permissions where the file system has them,
+     * it is deleted when the server is closed or the JVM exits
+     */
+    private static Path writeToken(byte[] token) throws IOException {
+        Path file;
+        try {
+            file = Files.createTempFile("codec-server", ".token",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            file = Files.createTempFile("codec-server", ".token");
+        }
+        file.toFile().deleteOnExit();
+        return Files.write(file, token);
+    }
+
+    /**
+     * Runs the mode from the input file into the output file
+     */
+    @FunctionalInterface
+    interface Job {
+        void run(Mode mode, String input, String output) throws IOException;
+    }
+}
@@ -0,0 +1,202 @@
+package correcter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Flow processor running a block transform over a stream of ByteBuffer chunks, so the stages can be chained
+ * from a source to a sink, e.g. encode, channel and decode, without holding the whole signal in memory.
+ * <p>
+ * The chunks come from a BufferPool. A stage releases every chunk it receives once transformed and publishes
+ * its output in chunks acquired from the same pool, which the next stage or the sink releases in turn. The
+ * chunks need not hold whole blocks: the bytes of a block split between two chunks are kept until the block
+ * is complete, and a trailing partial block is transformed on completion like the static methods do.
+ * <p>
+ * Every stage requests one chunk at a time and publishes through a bounded buffer, publishing blocks while the
+ * next stage is behind, so a slow sink slows the whole chain down instead of filling the memory.
+ */
+final class CodecStage extends SubmissionPublisher<ByteBuffer> implements Flow.Processor<ByteBuffer, ByteBuffer> {
+
+    /**
+     * Chunks published but not yet requested by the next stage, at most
+     */
+    static final int BUFFER_CAPACITY = 16;
+
+    private static final Executor DEFAULT_EXECUTOR = ForkJoinPool.getCommonPoolParallelism() > 1
+            ? ForkJoinPool.commonPool()
+            : runnable -> new Thread(runnable).start();
+
+    private final ParallelEngine.BlockTransform block;
+    private final IntUnaryOperator outputLength;
+    private final BufferPool pool;
+
+    /**
+     * Bytes of an input block split between chunks
+     */
+    private final byte[] pending;
+    private int pendingLength;
+
+    private ByteBuffer output;
+    private Flow.Subscription subscription;
+
+    /**
+     * @param block        transform of the chunks
+     * @param outputLength amount of output bytes of a partial block
+     * @param pool         source of the output chunks, its buffers must hold an output block
+     */
+    CodecStage(ParallelEngine.BlockTransform block, IntUnaryOperator outputLength, BufferPool pool) {
+        this(block, outputLength, pool, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param executor delivers the output chunks to the next stage
+     */
+    CodecStage(ParallelEngine.BlockTransform block, IntUnaryOperator outputLength, BufferPool pool,
+               Executor executor) {
+        super(executor, BUFFER_CAPACITY);
+        if (pool.bufferSize() < block.outputBlock) {
+            throw new IllegalArgumentException("The buffers must hold an output block of " + block.outputBlock
+                    + " bytes: " + pool.bufferSize());
+        }
+        this.block = block;
+        this.outputLength = outputLength;
+        this.pool = pool;
+        this.pending = new byte[block.inputBlock];
+    }
+
+    static CodecStage hammingEncoding(BufferPool pool) {
+        return new CodecStage(ParallelEngine.HAMMING_ENCODE, HammingEncoder::encodedLength, pool);
+    }
+
+    static CodecStage hammingDecoding(BufferPool pool) {
+        return new CodecStage(ParallelEngine.HAMMING_DECODE, HammingDecoder::decodedLength, pool);
+    }
+
+    static CodecStage bitEncoding(BufferPool pool) {
+        return new CodecStage(ParallelEngine.BIT_ENCODE, Encoder::encodedLength, pool);
+    }
+
+    static CodecStage bitDecoding(BufferPool pool) {
+        return new CodecStage(ParallelEngine.BIT_DECODE, Decoder::decodedLength, pool);
+    }
+
+    /**
+     * @return stage flipping a bit of every byte like the InterferenceGenerator
+     */
+    static CodecStage interference(BufferPool pool) {
+        return new CodecStage(ParallelEngine.INTERFERENCE, IntUnaryOperator.identity(), pool);
+    }
+
+    static CodecStage encoding(Codec codec, BufferPool pool) {
+        return new CodecStage(ParallelEngine.encoding(codec), codec::encodedLength, pool);
+    }
+
+    static CodecStage decoding(Codec codec, BufferPool pool) {
+        return new CodecStage(ParallelEngine.decoding(codec), codec::decodedLength, pool);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer chunk) {
+        try {
+            transform(chunk);
+            pool.release(chunk);
+            publish();
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        try {
+            if (pendingLength > 0) {
+                reserve(outputLength.applyAsInt(pendingLength));
+                write(pending, 0, pendingLength);
+                pendingLength = 0;
+            }
+            publish();
+        } catch (RuntimeException e) {
+            closeExceptionally(e);
+            return;
+        }
+        close();
+    }
+
+    /**
+     * Transforms the whole blocks of the chunk straight from its array, completing first the block
+     * left pending by the previous chunk
+     */
+    private void transform(ByteBuffer chunk) {
+        while (chunk.hasRemaining()) {
+            if (pendingLength > 0 || chunk.remaining() < block.inputBlock || !chunk.hasArray()) {
+                int length = Math.min(block.inputBlock - pendingLength, chunk.remaining());
+                chunk.get(pending, pendingLength, length);
+                pendingLength += length;
+                if (pendingLength == block.inputBlock) {
+                    reserve(block.outputBlock);
+                    write(pending, 0, block.inputBlock);
+                    pendingLength = 0;
+                }
+                continue;
+            }
+
+            reserve(block.outputBlock);
+            int blocks = Math.min(chunk.remaining() / block.inputBlock, output.remaining() / block.outputBlock);
+            int length = blocks * block.inputBlock;
+            write(chunk.array(), chunk.arrayOffset() + chunk.position(), length);
+            chunk.position(chunk.position() + length);
+        }
+    }
+
+    /**
+     * Publishes the output chunk unless it has room for the amount of bytes
+     */
+    private void reserve(int length) {
+        if (output != null && output.remaining() < length) {
+            publish();
+        }
+        if (output == null) {
+            output = pool.acquire();
+        }
+    }
+
+    private void write(byte[] source, int offset, int length) {
+        output.position(output.position() + block.range.apply(source, offset, length, output.array(),
+                output.arrayOffset() + output.position()));
+    }
+
+    private void publish() {
+        if (output == null) {
+            return;
+        }
+        if (output.position() == 0) {
+            pool.release(output);
+        } else {
+            output.flip();
+            submit(output);
+        }
+        output = null;
+    }
+}
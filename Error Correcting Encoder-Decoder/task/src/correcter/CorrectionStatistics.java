@@ -0,0 +1,278 @@
+package correcter;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts what a decoder corrects while it decodes, it is disabled by default. Every received byte is looked up
+ * in a table built from the codewords of the codec and from what its decoder gives for every byte value: a byte
+ * one bit away from a codeword had that bit corrected if the decoder gives the value of that codeword. A byte the
+ * decoder gets wrong, or farther from every codeword, is uncorrectable. The decoders count each call locally in
+ * a Batch and add it to the LongAdders once, then the listeners are notified.
+ */
+public final class CorrectionStatistics implements CorrectionStatisticsMBean {
+
+    static final CorrectionStatistics HAMMING = new CorrectionStatistics(HammingCodec.NAME, hammingCodewords(),
+            HammingDecoder::decodedNibble);
+    static final CorrectionStatistics BIT_REPETITION = new CorrectionStatistics(BitRepetitionCodec.NAME,
+            bitRepetitionCodewords(), Decoder::bitsDecoder);
+    static final CorrectionStatistics SECDED = new CorrectionStatistics(ExtendedHammingCodec.NAME,
+            ExtendedHammingCodec.codewords(), ExtendedHammingCodec::decodedNibble);
+
+    private static final byte CLEAN = -1;
+    private static final byte UNCORRECTABLE = -2;
+
+    private final String codec;
+
+    /**
+     * Corrected bit position of every received byte value, CLEAN or UNCORRECTABLE
+     */
+    private final byte[] errorTable;
+
+    private volatile boolean enabled;
+
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder correctedBits = new LongAdder();
+    private final LongAdder uncorrectableBytes = new LongAdder();
+    private final LongAdder[] errorPositions = new LongAdder[Coder.BYTE_BITS_AMOUNT];
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param codewords codeword of every value, by value
+     * @param decoder   value the decoder gives for a received byte
+     */
+    private CorrectionStatistics(String codec, byte[] codewords, ByteDecoder decoder) {
+        this.codec = codec;
+        this.errorTable = buildErrorTable(codewords, decoder);
+        Arrays.setAll(errorPositions, i -> new LongAdder());
+    }
+
+    /**
+     * @return the statistics of the codec, empty when its decoder does not count corrections
+     */
+    static Optional<CorrectionStatistics> forCodec(String codec) {
+        if (HAMMING.codec.equals(codec)) {
+            return Optional.of(HAMMING);
+        }
+        if (BIT_REPETITION.codec.equals(codec)) {
+            return Optional.of(BIT_REPETITION);
+        }
+        if (SECDED.codec.equals(codec)) {
+            return Optional.of(SECDED);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return why the corrections of the codec cannot be reported
+     */
+    static String unavailableFor(String codec) {
+        return "The correction statistics are only counted for the " + HAMMING.codec + ", " + BIT_REPETITION.codec
+                + " and " + SECDED.codec + " codecs, not for " + codec;
+    }
+
+    String codec() {
+        return codec;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    @Override
+    public long getCorrectedBits() {
+        return correctedBits.sum();
+    }
+
+    @Override
+    public long getUncorrectableBytes() {
+        return uncorrectableBytes.sum();
+    }
+
+    @Override
+    public double getCorrectedBitErrorRate() {
+        long bits = getReceivedBytes() * Coder.BYTE_BITS_AMOUNT;
+        return bits == 0 ? 0 : (double) getCorrectedBits() / bits;
+    }
+
+    @Override
+    public long[] getErrorPositions() {
+        return Arrays.stream(errorPositions).mapToLong(LongAdder::sum).toArray();
+    }
+
+    @Override
+    public void reset() {
+        receivedBytes.reset();
+        correctedBits.reset();
+        uncorrectableBytes.reset();
+        for (LongAdder position : errorPositions) {
+            position.reset();
+        }
+    }
+
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers the statistics in the platform MBean server, nothing is done when they already are
+     *
+     * @return name it is registered with
+     */
+    ObjectName register() throws JMException {
+        ObjectName name = new ObjectName("correcter:type=CorrectionStatistics,codec=" + ObjectName.quote(codec));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        synchronized (this) {
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * @return counter for one decoder call, null when disabled so the decoder can skip counting
+     */
+    Batch batch() {
+        return enabled ? new Batch() : null;
+    }
+
+    @Override
+    public String toString() {
+        return codec + ": " + getReceivedBytes() + " bytes received, " + getCorrectedBits() + " bits corrected, "
+                + getUncorrectableBytes() + " uncorrectable bytes, corrected bit error rate "
+                + getCorrectedBitErrorRate() + ", error positions " + Arrays.toString(getErrorPositions());
+    }
+
+    /**
+     * Counts the received bytes of one decoder call without any synchronization
+     */
+    final class Batch {
+        private long received;
+        private long corrected;
+        private long uncorrectable;
+        private final long[] positions = new long[Coder.BYTE_BITS_AMOUNT];
+
+        void count(byte receivedByte) {
+            received++;
+            byte error = errorTable[receivedByte & 0xFF];
+            if (error >= 0) {
+                corrected++;
+                positions[error]++;
+            } else if (error == UNCORRECTABLE) {
+                uncorrectable++;
+            }
+        }
+
+        /**
+         * Adds the batch to the statistics and notifies the listeners
+         */
+        void record() {
+            receivedBytes.add(received);
+            correctedBits.add(corrected);
+            uncorrectableBytes.add(uncorrectable);
+            for (int i = 0; i < positions.length; i++) {
+                if (positions[i] != 0) {
+                    errorPositions[i].add(positions[i]);
+                }
+            }
+
+            for (Listener listener : listeners) {
+                listener.onBatch(codec, received, corrected, uncorrectable);
+            }
+        }
+    }
+
+    /**
+     * Notified after every decoder call, on the decoding thread
+     */
+    @FunctionalInterface
+    interface Listener {
+        void onBatch(String codec, long receivedBytes, long correctedBits, long uncorrectableBytes);
+    }
+
+    /**
+     * Value a decoder gives for a received byte
+     */
+    @FunctionalInterface
+    private interface ByteDecoder {
+        byte decode(byte receivedByte);
+    }
+
+    private static byte[] buildErrorTable(byte[] codewords, ByteDecoder decoder) {
+        byte[] table = new byte[256];
+
+        for (int received = 0; received < table.length; received++) {
+            table[received] = UNCORRECTABLE;
+            for (int value = 0; value < codewords.length; value++) {
+                int difference = (received ^ codewords[value]) & 0xFF;
+                if (difference == 0) {
+                    table[received] = CLEAN;
+                    break;
+                }
+                // the decoder may fix another bit than the flipped one, the byte is then miscorrected
+                if (Integer.bitCount(difference) == 1 && decoder.decode((byte) received) == value) {
+                    table[received] = (byte) Integer.numberOfTrailingZeros(difference);
+                }
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * @return the encoded form of every nibble
+     */
+    private static byte[] hammingCodewords() {
+        byte[] nibbles = new byte[16];
+        for (byte i = 0; i < nibbles.length; i++) {
+            nibbles[i] = i;
+        }
+
+        byte[] encoded = HammingEncoder.encodeBitwise(nibbles);
+        byte[] codewords = new byte[nibbles.length];
+        for (int i = 0; i < codewords.length; i++) {
+            codewords[i] = encoded[i * 2 + 1];
+        }
+        return codewords;
+    }
+
+    /**
+     * @return every three bits doubled, followed by their doubled parity
+     */
+    private static byte[] bitRepetitionCodewords() {
+        byte[] codewords = new byte[8];
+        for (int bits = 0; bits < codewords.length; bits++) {
+            int parity = Integer.bitCount(bits) & 1;
+            int codeword = 0;
+            for (int i = 2; i >= 0; i--) {
+                codeword = codeword << 2 | ((bits >>> i & 1) * 3);
+            }
+            codewords[bits] = (byte) (codeword << 2 | parity * 3);
+        }
+        return codewords;
+    }
+}
@@ -0,0 +1,29 @@
+package correcter;
+
+/**
+ * JMX view of the CorrectionStatistics of a codec, registered as correcter:type=CorrectionStatistics,codec=NAME
+ */
+public interface CorrectionStatisticsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getReceivedBytes();
+
+    long getCorrectedBits();
+
+    long getUncorrectableBytes();
+
+    /**
+     * @return corrected bits per received bit
+     */
+    double getCorrectedBitErrorRate();
+
+    /**
+     * @return corrected bits at every bit position of the received bytes, index 0 is the lowest bit
+     */
+    long[] getErrorPositions();
+
+    void reset();
+}
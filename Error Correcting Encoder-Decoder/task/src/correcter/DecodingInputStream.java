@@ -0,0 +1,137 @@
+package correcter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Decodes with a codec what it reads from the underlying stream, the counterpart of EncodingOutputStream. The
+ * received bytes are read in large chunks and decoded by whole blocks, whatever amounts the underlying stream
+ * returns: the bytes of a block split between two reads are kept until the block is complete, and a trailing
+ * partial block, like the odd last byte of a Hamming signal, is decoded at the end like Codec.decode does.
+ * <p>
+ * Mark and reset are not supported.
+ */
+final class DecodingInputStream extends FilterInputStream {
+
+    private final Codec codec;
+
+    /**
+     * Received bytes not decoded yet, fewer than a block unless more were just read
+     */
+    private final byte[] input;
+    private int inputLength;
+    private boolean endOfInput;
+
+    private final byte[] output;
+    private int outputPosition;
+    private int outputLimit;
+
+    /**
+     * Decodes with the Hamming codec
+     */
+    DecodingInputStream(InputStream in) {
+        this(in, CodecRegistry.forName(HammingCodec.NAME));
+    }
+
+    DecodingInputStream(InputStream in, Codec codec) {
+        super(in);
+        this.codec = codec;
+        int blocks = Math.max(1, EncodingOutputStream.BUFFER_SIZE / codec.encodedBlock());
+        this.input = new byte[blocks * codec.encodedBlock()];
+        this.output = new byte[blocks * codec.signalBlock()];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return output[outputPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+
+        int length = Math.min(len, outputLimit - outputPosition);
+        System.arraycopy(output, outputPosition, b, off, length);
+        outputPosition += length;
+        return length;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill()) {
+            int length = (int) Math.min(n - skipped, outputLimit - outputPosition);
+            outputPosition += length;
+            skipped += length;
+        }
+        return skipped;
+    }
+
+    /**
+     * @return the decoded bytes ready, the underlying stream may hold more
+     */
+    @Override
+    public int available() {
+        return outputLimit - outputPosition;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Decodes more bytes when all the decoded ones were read
+     *
+     * @return false at the end of the signal
+     */
+    private boolean fill() throws IOException {
+        int encodedBlock = codec.encodedBlock();
+        while (outputPosition == outputLimit) {
+            if (endOfInput && inputLength == 0) {
+                return false;
+            }
+            if (!endOfInput) {
+                int read = in.read(input, inputLength, input.length - inputLength);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    inputLength += read;
+                }
+            }
+
+            int length = inputLength / encodedBlock * encodedBlock;
+            if (length == 0 && !endOfInput) {
+                continue;
+            }
+            if (length == 0) {
+                length = inputLength;
+            }
+            outputPosition = 0;
+            outputLimit = codec.decode(input, 0, length, output, 0);
+            inputLength -= length;
+            System.arraycopy(input, length, input, 0, inputLength);
+        }
+        return true;
+    }
+}
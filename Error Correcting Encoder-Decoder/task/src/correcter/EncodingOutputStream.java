@@ -0,0 +1,141 @@
+package correcter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Encodes everything written to it with a codec into the underlying stream, so existing I/O code gets the error
+ * correction with one wrapper and a signal of any size. The writes need not hold whole blocks: the bytes of a block
+ * split between two writes are kept until the block is complete, and close encodes a trailing partial block like
+ * Codec.encode does. The encoded bytes are buffered and written in large chunks.
+ * <p>
+ * flush writes the encoded whole blocks only, a partial block waits for its next bytes or for close.
+ */
+final class EncodingOutputStream extends FilterOutputStream {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Codec codec;
+
+    /**
+     * Bytes of a signal block split between writes
+     */
+    private final byte[] pending;
+    private int pendingLength;
+
+    private final byte[] buffer;
+    private int count;
+    private boolean closed;
+
+    /**
+     * Encodes with the Hamming codec
+     */
+    EncodingOutputStream(OutputStream out) {
+        this(out, CodecRegistry.forName(HammingCodec.NAME));
+    }
+
+    EncodingOutputStream(OutputStream out, Codec codec) {
+        super(out);
+        this.codec = codec;
+        this.pending = new byte[codec.signalBlock()];
+        this.buffer = new byte[Math.max(1, BUFFER_SIZE / codec.encodedBlock()) * codec.encodedBlock()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        pending[pendingLength++] = (byte) b;
+        if (pendingLength == pending.length) {
+            encodePending();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+
+        int signalBlock = codec.signalBlock();
+        int encodedBlock = codec.encodedBlock();
+        while (len > 0) {
+            if (pendingLength > 0 || len < signalBlock) {
+                int length = Math.min(signalBlock - pendingLength, len);
+                System.arraycopy(b, off, pending, pendingLength, length);
+                pendingLength += length;
+                off += length;
+                len -= length;
+                if (pendingLength == signalBlock) {
+                    encodePending();
+                }
+                continue;
+            }
+
+            reserve(encodedBlock);
+            int length = Math.min(len / signalBlock, (buffer.length - count) / encodedBlock) * signalBlock;
+            count += codec.encode(b, off, length, buffer, count);
+            off += length;
+            len -= length;
+        }
+    }
+
+    /**
+     * Writes the encoded whole blocks and flushes the underlying stream
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeBuffer();
+        out.flush();
+    }
+
+    /**
+     * Encodes the trailing partial block, writes everything and closes the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (pendingLength > 0) {
+                encodePending();
+            }
+            writeBuffer();
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encodePending() throws IOException {
+        reserve(codec.encodedBlock());
+        count += codec.encode(pending, 0, pendingLength, buffer, count);
+        pendingLength = 0;
+    }
+
+    /**
+     * Writes the buffer unless it has room for the amount of bytes
+     */
+    private void reserve(int length) throws IOException {
+        if (buffer.length - count < length) {
+            writeBuffer();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
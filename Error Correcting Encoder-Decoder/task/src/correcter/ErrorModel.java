@@ -0,0 +1,148 @@
+package correcter;
+
+import java.util.Locale;
+
+/**
+ * Errors introduced by the NoiseChannel into a block of the signal. The block is corrupted in place,
+ * drawing every decision from the given random generator, so the same seed gives the same errors.
+ */
+@FunctionalInterface
+interface ErrorModel {
+
+    void corrupt(byte[] signal, int offset, int length, NoiseRandom random);
+
+    /**
+     * Flips bit 3 of every byte, like InterferenceGenerator
+     */
+    static ErrorModel fixedBit() {
+        return (signal, offset, length, random) ->
+                InterferenceGenerator.interfere(signal, offset, length, signal, offset);
+    }
+
+    /**
+     * Flips exactly one bit at a random position in every byte
+     */
+    static ErrorModel singleBit() {
+        return (signal, offset, length, random) -> {
+            long bits = 0;
+            for (int i = 0; i < length; i++) {
+                // 21 positions of 3 bits per random long
+                if (i % 21 == 0) {
+                    bits = random.nextLong();
+                }
+                signal[offset + i] ^= 1 << (bits & 7);
+                bits >>>= 3;
+            }
+        };
+    }
+
+    /**
+     * Binary symmetric channel, every bit is flipped on its own with the bit error rate
+     */
+    static ErrorModel binarySymmetric(double bitErrorRate) {
+        double logComplement = logComplement(bitErrorRate);
+
+        return (signal, offset, length, random) -> {
+            long bitLength = (long) length * Byte.SIZE;
+            for (long bit = random.nextGap(logComplement); bit < bitLength;
+                 bit = skip(bit, 1, random.nextGap(logComplement))) {
+                flip(signal, offset, bit);
+            }
+        };
+    }
+
+    /**
+     * Bursts of burstLength bits starting at every bit with the burst rate. The first and the last bit
+     * of a burst are flipped, the bits between them are flipped with probability 1/2. A burst does not
+     * go past the end of its block.
+     */
+    static ErrorModel burst(double burstRate, int burstLength) {
+        if (burstLength <= 0) {
+            throw new IllegalArgumentException("The burst length must be positive: " + burstLength);
+        }
+        double logComplement = logComplement(burstRate);
+
+        return (signal, offset, length, random) -> {
+            long bitLength = (long) length * Byte.SIZE;
+            for (long bit = random.nextGap(logComplement); bit < bitLength;
+                 bit = skip(bit, burstLength, random.nextGap(logComplement))) {
+                long end = Math.min(bit + burstLength, bitLength) - 1;
+                flip(signal, offset, bit);
+
+                long middle = 0;
+                for (long i = bit + 1; i < end; i++) {
+                    if ((i - bit - 1) % Long.SIZE == 0) {
+                        middle = random.nextLong();
+                    }
+                    if ((middle & 1) != 0) {
+                        flip(signal, offset, i);
+                    }
+                    middle >>>= 1;
+                }
+
+                if (end > bit) {
+                    flip(signal, offset, end);
+                }
+            }
+        };
+    }
+
+    /**
+     * Replaces every byte with a different random byte with the symbol error rate
+     */
+    static ErrorModel symbol(double symbolErrorRate) {
+        double logComplement = logComplement(symbolErrorRate);
+
+        return (signal, offset, length, random) -> {
+            for (long i = random.nextGap(logComplement); i < length; i = skip(i, 1, random.nextGap(logComplement))) {
+                signal[offset + (int) i] ^= 1 + random.nextInt(255);
+            }
+        };
+    }
+
+    /**
+     * Reads a model from the command line: fixed-bit, single-bit, bsc:RATE, burst:RATE:LENGTH or symbol:RATE
+     */
+    static ErrorModel parse(String specification) {
+        String[] parts = specification.toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed-bit":
+                    return fixedBit();
+                case "single-bit":
+                    return singleBit();
+                case "bsc":
+                    return binarySymmetric(Double.parseDouble(parts[1]));
+                case "burst":
+                    return burst(Double.parseDouble(parts[1]), Integer.parseInt(parts[2]));
+                case "symbol":
+                    return symbol(Double.parseDouble(parts[1]));
+                default:
+                    break;
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid error model " + specification, e);
+        }
+        throw new IllegalArgumentException("Unknown error model " + specification);
+    }
+
+    private static double logComplement(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("The probability must be between 0 and 1: " + probability);
+        }
+        return Math.log1p(-probability);
+    }
+
+    /**
+     * @return the position after the current error and the gap to the next one, Long.MAX_VALUE instead of
+     * overflowing when the gap is as large as the very low rates can make it
+     */
+    private static long skip(long position, long length, long gap) {
+        long next = position + length;
+        return gap >= Long.MAX_VALUE - next ? Long.MAX_VALUE : next + gap;
+    }
+
+    private static void flip(byte[] signal, int offset, long bit) {
+        signal[offset + (int) (bit >>> 3)] ^= 0x80 >>> (bit & 7);
+    }
+}
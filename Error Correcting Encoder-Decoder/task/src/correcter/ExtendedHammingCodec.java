@@ -0,0 +1,178 @@
+package correcter;
+
+import java.util.Objects;
+
+/**
+ * Extended Hamming(8,4) SECDED: the Hamming(7,4) codeword of every nibble, with the parity of its seven bits
+ * in the bit 0 that Hamming(7,4) leaves unused. A single bit error is corrected, a double bit error is detected
+ * instead of being miscorrected, its data bits are written as received.
+ */
+class ExtendedHammingCodec implements Codec {
+
+    static final String NAME = "secded";
+    static final byte ID = 4;
+
+    /**
+     * Set in the DECODE_TABLE entries of the received bytes with a double bit error
+     */
+    private static final int DOUBLE_ERROR = 0x10;
+
+    private static final byte[] CODEWORDS = buildCodewords();
+
+    /**
+     * Encoded form of every byte value, the first nibble in the high byte and the second one in the low byte
+     */
+    private static final short[] ENCODE_TABLE = buildEncodeTable();
+
+    /**
+     * Corrected nibble of every received byte value, with DOUBLE_ERROR when it cannot be corrected
+     */
+    private static final byte[] DECODE_TABLE = buildDecodeTable();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public int signalBlock() {
+        return 1;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return 2;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return HammingEncoder.encodedLength(length);
+    }
+
+    @Override
+    public int decodedLength(int encodedLength) {
+        return HammingDecoder.decodedLength(encodedLength);
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        Objects.checkFromIndexSize(offset, length, signal.length);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength(length), encodedSignal.length);
+
+        for (int i = offset, index = encodedOffset; i < offset + length; i++, index += 2) {
+            short encoded = ENCODE_TABLE[signal[i] & 0xFF];
+            encodedSignal[index] = (byte) (encoded >>> Coder.BYTE_BITS_AMOUNT);
+            encodedSignal[index + 1] = (byte) encoded;
+        }
+
+        return length * 2;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        decodeDetecting(encodedSignal, encodedOffset, encodedLength, signal, offset);
+        return decodedLength(encodedLength);
+    }
+
+    /**
+     * Decodes a range of the received signal into the destination, a trailing odd byte is ignored
+     *
+     * @param signal destination, it needs room for encodedLength / 2 bytes
+     * @return amount of received bytes with a double bit error
+     */
+    static int decodeDetecting(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal,
+                               int offset) {
+        int signalLength = HammingDecoder.decodedLength(encodedLength);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(offset, signalLength, signal.length);
+
+        CorrectionStatistics.Batch batch = CorrectionStatistics.SECDED.batch();
+        int doubleErrors = 0;
+
+        for (int i = offset, index = encodedOffset; i < offset + signalLength; i++, index += 2) {
+            byte first = DECODE_TABLE[encodedSignal[index] & 0xFF];
+            byte second = DECODE_TABLE[encodedSignal[index + 1] & 0xFF];
+            doubleErrors += (first >>> 4) + (second >>> 4);
+            signal[i] = (byte) (first << HammingCoder.SIGNIFICANT_BITS | second & HammingCoder.SECOND_NIBBLE);
+
+            if (batch != null) {
+                batch.count(encodedSignal[index]);
+                batch.count(encodedSignal[index + 1]);
+            }
+        }
+        if (batch != null) {
+            batch.record();
+        }
+
+        return doubleErrors;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /**
+     * @return the nibble the decoder gives for the received byte, in this format 0000 XXXX
+     */
+    static byte decodedNibble(byte receivedByte) {
+        return (byte) (DECODE_TABLE[receivedByte & 0xFF] & HammingCoder.SECOND_NIBBLE);
+    }
+
+    /**
+     * @return the SECDED codeword of every nibble
+     */
+    static byte[] codewords() {
+        return CODEWORDS.clone();
+    }
+
+    private static byte[] buildCodewords() {
+        byte[] nibbles = new byte[16];
+        for (byte i = 0; i < nibbles.length; i++) {
+            nibbles[i] = i;
+        }
+
+        byte[] encoded = HammingEncoder.encodeBitwise(nibbles);
+        byte[] codewords = new byte[nibbles.length];
+        for (int i = 0; i < codewords.length; i++) {
+            byte codeword = encoded[i * 2 + 1];
+            codewords[i] = (byte) (codeword | Integer.bitCount(codeword & 0xFF) & 1);
+        }
+        return codewords;
+    }
+
+    private static short[] buildEncodeTable() {
+        short[] table = new short[256];
+
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (short) ((CODEWORDS[i >>> 4] & 0xFF) << Coder.BYTE_BITS_AMOUNT | CODEWORDS[i & 0x0F] & 0xFF);
+        }
+
+        return table;
+    }
+
+    /**
+     * Every received byte decodes to the nibble of the codeword at distance 0 or 1. The codewords are
+     * at least 4 bits apart, so any other byte is 2 bits away from several of them: a double error.
+     */
+    private static byte[] buildDecodeTable() {
+        byte[] table = new byte[256];
+
+        for (int received = 0; received < table.length; received++) {
+            // bits 5, 3, 2 and 1 hold the data as received
+            table[received] = (byte) (DOUBLE_ERROR | (received >>> 2) & 0x08 | (received >>> 1) & 0x07);
+            for (int nibble = 0; nibble < CODEWORDS.length; nibble++) {
+                if (Integer.bitCount((received ^ CODEWORDS[nibble]) & 0xFF) <= 1) {
+                    table[received] = (byte) nibble;
+                }
+            }
+        }
+
+        return table;
+    }
+}
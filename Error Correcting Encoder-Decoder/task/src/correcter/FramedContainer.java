@@ -0,0 +1,351 @@
+package correcter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.LongStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Self-describing layout of an encoded signal: a header followed by one frame per block of the signal.
+ * <pre>
+ * header: magic, version, codec id, original length, block size, CRC32C of the previous header fields
+ * frame:  CRC32C of the signal block, then the block encoded with the codec
+ * </pre>
+ * The header and the checksums are always Hamming encoded, so they survive the same channel as the data.
+ * A header the Hamming code miscorrects fails its checksum and is rejected, like any header out of bounds.
+ * Every frame but the last one has the same length, so any block can be found, decoded and checked on its own.
+ */
+final class FramedContainer {
+
+    static final byte[] MAGIC = {(byte) 0xEC, (byte) 0xC0, (byte) 0xDE, (byte) 0xF1};
+    static final byte VERSION = 2;
+
+    /**
+     * Default signal bytes per block, rounded down to whole blocks of the codec
+     */
+    static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * Largest signal bytes per block, the block and its frame are allocated whole when reading
+     */
+    static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    private static final int CHECKED_HEADER_LENGTH = MAGIC.length + 1 + 1 + Long.BYTES + Integer.BYTES;
+    private static final int HEADER_LENGTH = CHECKED_HEADER_LENGTH + Integer.BYTES;
+    static final int ENCODED_HEADER_LENGTH = HammingEncoder.encodedLength(HEADER_LENGTH);
+    static final int ENCODED_CHECKSUM_LENGTH = HammingEncoder.encodedLength(Integer.BYTES);
+
+    private final Codec codec;
+    private final long originalLength;
+    private final int blockSize;
+
+    /**
+     * @param codec          codec of the blocks
+     * @param originalLength amount of signal bytes, the whole container length must fit in a long
+     * @param blockSize      signal bytes per block, a multiple of the codec block up to MAX_BLOCK_SIZE
+     */
+    FramedContainer(Codec codec, long originalLength, int blockSize) {
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE || blockSize % codec.signalBlock() != 0) {
+            throw new IllegalArgumentException("The block size " + blockSize + " is not a positive multiple of "
+                    + codec.signalBlock() + " up to " + MAX_BLOCK_SIZE + " for the codec " + codec.name());
+        }
+        long frameLength;
+        try {
+            frameLength = Math.addExact(ENCODED_CHECKSUM_LENGTH, codec.encodedLength(blockSize));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("The frames of " + blockSize + " bytes are too long for the codec "
+                    + codec.name(), e);
+        }
+        // the encoded blocks are never shorter than the signal ones, so this cannot overflow
+        long maxLength = (Long.MAX_VALUE - ENCODED_HEADER_LENGTH) / frameLength * blockSize;
+        if (originalLength < 0 || originalLength > maxLength) {
+            throw new IllegalArgumentException("The signal length " + originalLength + " is not between 0 and "
+                    + maxLength);
+        }
+        this.codec = codec;
+        this.originalLength = originalLength;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return the requested block size rounded down to whole blocks of the codec, at least one of them
+     */
+    static int blockSizeFor(Codec codec, int requestedBlockSize) {
+        return Math.max(1, requestedBlockSize / codec.signalBlock()) * codec.signalBlock();
+    }
+
+    Codec codec() {
+        return codec;
+    }
+
+    long originalLength() {
+        return originalLength;
+    }
+
+    int blockSize() {
+        return blockSize;
+    }
+
+    long blockCount() {
+        return (originalLength + blockSize - 1) / blockSize;
+    }
+
+    int signalLength(long block) {
+        return (int) Math.min(blockSize, originalLength - block * blockSize);
+    }
+
+    int frameLength(long block) {
+        return ENCODED_CHECKSUM_LENGTH + codec.encodedLength(signalLength(block));
+    }
+
+    long frameOffset(long block) {
+        return ENCODED_HEADER_LENGTH + block * (ENCODED_CHECKSUM_LENGTH + codec.encodedLength(blockSize));
+    }
+
+    long encodedLength() {
+        long blocks = blockCount();
+        return blocks == 0 ? ENCODED_HEADER_LENGTH : frameOffset(blocks - 1) + frameLength(blocks - 1);
+    }
+
+    byte[] encodeHeader() {
+        return encodeHeader(codec.id(), originalLength, blockSize);
+    }
+
+    /**
+     * Encodes a header with any field values, the checksum is computed over them
+     */
+    static byte[] encodeHeader(byte codecId, long originalLength, int blockSize) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH)
+                .put(MAGIC)
+                .put(VERSION)
+                .put(codecId)
+                .putLong(originalLength)
+                .putInt(blockSize);
+        header.putInt(headerChecksum(header.array()));
+        return HammingEncoder.encode(header.array());
+    }
+
+    private static int headerChecksum(byte[] header) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(header, 0, CHECKED_HEADER_LENGTH);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Reads the header at the beginning of the encoded signal
+     *
+     * @param encodedHeader the first ENCODED_HEADER_LENGTH bytes, or less if the signal is shorter
+     * @return the container, empty when the signal does not start with a framed container header
+     * @throws IOException if the header is framed but cannot be used, because of its version, its checksum
+     *                     or values out of bounds
+     */
+    static Optional<FramedContainer> decodeHeader(byte[] encodedHeader) throws IOException {
+        if (encodedHeader.length < ENCODED_HEADER_LENGTH) {
+            return Optional.empty();
+        }
+
+        byte[] headerBytes = HammingDecoder.decode(Arrays.copyOf(encodedHeader, ENCODED_HEADER_LENGTH));
+        ByteBuffer header = ByteBuffer.wrap(headerBytes);
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(MAGIC, magic)) {
+            return Optional.empty();
+        }
+
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported framed container version " + version);
+        }
+        if (headerChecksum(headerBytes) != header.getInt(CHECKED_HEADER_LENGTH)) {
+            throw new IOException("Corrupted framed container header");
+        }
+
+        try {
+            return Optional.of(new FramedContainer(CodecRegistry.forId(header.get()), header.getLong(), header.getInt()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid framed container header: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Encodes one block into a frame
+     *
+     * @return amount of frame bytes written
+     */
+    int encodeFrame(byte[] signal, int offset, int length, byte[] frame, int frameOffset) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(signal, offset, length);
+
+        byte[] checksumBytes = ByteBuffer.allocate(Integer.BYTES).putInt((int) checksum.getValue()).array();
+        HammingEncoder.encode(checksumBytes, 0, checksumBytes.length, frame, frameOffset);
+
+        return ENCODED_CHECKSUM_LENGTH
+                + codec.encode(signal, offset, length, frame, frameOffset + ENCODED_CHECKSUM_LENGTH);
+    }
+
+    /**
+     * Decodes one frame into its block and checks it against the checksum
+     *
+     * @return true if the decoded block matches its checksum
+     */
+    boolean decodeFrame(byte[] frame, int frameOffset, int frameLength, byte[] signal, int offset) {
+        byte[] checksumBytes = new byte[Integer.BYTES];
+        HammingDecoder.decode(frame, frameOffset, ENCODED_CHECKSUM_LENGTH, checksumBytes, 0);
+
+        int length = codec.decode(frame, frameOffset + ENCODED_CHECKSUM_LENGTH,
+                frameLength - ENCODED_CHECKSUM_LENGTH, signal, offset);
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(signal, offset, length);
+        return (int) checksum.getValue() == ByteBuffer.wrap(checksumBytes).getInt();
+    }
+
+    /**
+     * Writes the header and the frames of the whole signal, one block in memory at a time
+     *
+     * @param signal  exactly originalLength bytes
+     * @param encoded destination of the container
+     */
+    void write(InputStream signal, OutputStream encoded) throws IOException {
+        byte[] block = new byte[blockSize];
+        byte[] frame = new byte[frameLength(0)];
+
+        encoded.write(encodeHeader());
+
+        for (long i = 0; i < blockCount(); i++) {
+            int length = signal.readNBytes(block, 0, signalLength(i));
+            if (length < signalLength(i)) {
+                throw new EOFException("The signal is shorter than " + originalLength + " bytes");
+            }
+            encoded.write(frame, 0, encodeFrame(block, 0, length, frame, 0));
+        }
+    }
+
+    /**
+     * Decodes the frames following the header, one block in memory at a time. It stops at the first
+     * incomplete frame, so a partially transferred container gives back its complete blocks.
+     *
+     * @param encoded the container right after its header
+     * @param signal  destination of the decoded blocks
+     */
+    Report read(InputStream encoded, OutputStream signal) throws IOException {
+        byte[] block = new byte[blockSize];
+        byte[] frame = new byte[frameLength(0)];
+        List<Long> corruptedBlocks = new ArrayList<>();
+
+        long decodedBlocks = 0;
+        while (decodedBlocks < blockCount()) {
+            int frameLength = frameLength(decodedBlocks);
+            if (encoded.readNBytes(frame, 0, frameLength) < frameLength) {
+                break;
+            }
+
+            if (!decodeFrame(frame, 0, frameLength, block, 0)) {
+                corruptedBlocks.add(decodedBlocks);
+            }
+            signal.write(block, 0, signalLength(decodedBlocks));
+            decodedBlocks++;
+        }
+
+        return new Report(decodedBlocks, corruptedBlocks);
+    }
+
+    /**
+     * Decodes the complete frames of the container file on the common pool, every block is read from
+     * and written to its own position.
+     *
+     * @param encodedFile the container
+     * @param signalFile  destination of the decoded blocks, it is overwritten
+     */
+    Report readParallel(Path encodedFile, Path signalFile) throws IOException {
+        try (FileChannel input = FileChannel.open(encodedFile, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(signalFile, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long completeBlocks = 0;
+            while (completeBlocks < blockCount()
+                    && frameOffset(completeBlocks) + frameLength(completeBlocks) <= input.size()) {
+                completeBlocks++;
+            }
+
+            ConcurrentLinkedQueue<Long> corruptedBlocks = new ConcurrentLinkedQueue<>();
+
+            try {
+                LongStream.range(0, completeBlocks).parallel().forEach(i -> {
+                    byte[] frame = new byte[frameLength(i)];
+                    byte[] block = new byte[signalLength(i)];
+                    try {
+                        readFully(input, ByteBuffer.wrap(frame), frameOffset(i));
+                        if (!decodeFrame(frame, 0, frame.length, block, 0)) {
+                            corruptedBlocks.add(i);
+                        }
+                        writeFully(output, ByteBuffer.wrap(block), i * blockSize);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<Long> sortedBlocks = new ArrayList<>(corruptedBlocks);
+            Collections.sort(sortedBlocks);
+            return new Report(completeBlocks, sortedBlocks);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Outcome of decoding a container
+     */
+    final class Report {
+        final long decodedBlocks;
+        final List<Long> corruptedBlocks;
+
+        Report(long decodedBlocks, List<Long> corruptedBlocks) {
+            this.decodedBlocks = decodedBlocks;
+            this.corruptedBlocks = Collections.unmodifiableList(corruptedBlocks);
+        }
+
+        /**
+         * @return blocks not decoded because their frame was not complete
+         */
+        long missingBlocks() {
+            return blockCount() - decodedBlocks;
+        }
+
+        boolean isComplete() {
+            return missingBlocks() == 0 && corruptedBlocks.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return decodedBlocks + " of " + blockCount() + " blocks decoded, corrupted blocks: " + corruptedBlocks;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package correcter;
+
+import java.util.Objects;
+
+/**
+ * Hamming(2^r - 1, 2^r - r - 1) packed across bytes, for r = 4, 5 and 6 parity bits: (15,11), (31,26) and (63,57).
+ * Like in HammingCoder the parity bits sit at the positions which are powers of two and the significant bits at
+ * the others, positions counted from 1 at the first bit sent. Eight codewords of n bits hold k signal bytes in
+ * n encoded bytes, so the blocks are k signal bytes and n encoded bytes. A shorter signal is sent with whole
+ * codewords followed by one shortened codeword, the first positions of a codeword carrying the remaining bits.
+ * <p>
+ * Codewords are handled in a long with position p at bit 64 - p, the data bits in a long from bit 63 down.
+ * Scattering the data, computing the syndrome and gathering the data are linear, so they are looked up
+ * one byte of the long at a time and combined.
+ */
+class GeneralizedHammingCodec implements Codec {
+
+    static final int MIN_PARITY_BITS = 4;
+    static final int MAX_PARITY_BITS = 6;
+
+    private final int parityBits;
+
+    /**
+     * Codeword bits
+     */
+    private final int n;
+
+    /**
+     * Significant bits of a codeword
+     */
+    private final int k;
+
+    private final int[] parityPositions;
+    private final int[] significantPositions;
+
+    private final long[][] scatterTable;
+    private final int[][] syndromeTable;
+    private final long[][] gatherTable;
+
+    /**
+     * Parity bits for every syndrome of the significant bits
+     */
+    private final long[] parityTable;
+
+    /**
+     * Signal bytes of a partial block for every encoded length below n bytes
+     */
+    private final int[] tailLengths;
+
+    /**
+     * @param parityBits r, from MIN_PARITY_BITS to MAX_PARITY_BITS
+     */
+    GeneralizedHammingCodec(int parityBits) {
+        if (parityBits < MIN_PARITY_BITS || parityBits > MAX_PARITY_BITS) {
+            throw new IllegalArgumentException("The parity bits must be between " + MIN_PARITY_BITS + " and "
+                    + MAX_PARITY_BITS + ": " + parityBits);
+        }
+        this.parityBits = parityBits;
+        this.n = (1 << parityBits) - 1;
+        this.k = n - parityBits;
+
+        parityPositions = new int[parityBits];
+        significantPositions = new int[k];
+        for (int position = 1, parity = 0, significant = 0; position <= n; position++) {
+            if (Integer.bitCount(position) == 1) {
+                parityPositions[parity++] = position;
+            } else {
+                significantPositions[significant++] = position;
+            }
+        }
+
+        scatterTable = buildScatterTable();
+        syndromeTable = buildSyndromeTable();
+        gatherTable = buildGatherTable();
+        parityTable = buildParityTable();
+        tailLengths = buildTailLengths();
+    }
+
+    @Override
+    public String name() {
+        return "hamming-" + n + "-" + k;
+    }
+
+    @Override
+    public byte id() {
+        return (byte) (parityBits + 1);
+    }
+
+    @Override
+    public int signalBlock() {
+        return k;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return n;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        long blocks = length / k;
+        return Math.toIntExact(blocks * n + (tailBits(length % k) + Coder.BYTE_BITS_AMOUNT - 1)
+                / Coder.BYTE_BITS_AMOUNT);
+    }
+
+    /**
+     * The tail of a received signal shorter than its encoded length is not decoded
+     */
+    @Override
+    public int decodedLength(int encodedLength) {
+        return encodedLength / n * k + tailLengths[encodedLength % n];
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        int encodedLength = encodedLength(length);
+        Objects.checkFromIndexSize(offset, length, signal.length);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+
+        BitStream.Reader reader = new BitStream.Reader(signal, offset, length);
+        BitStream.Writer writer = new BitStream.Writer(encodedSignal, encodedOffset, encodedLength);
+
+        long bits = (long) length * Coder.BYTE_BITS_AMOUNT;
+        for (; bits >= k; bits -= k) {
+            writer.write(encodeCodeword(reader.read(k) << Long.SIZE - k) >>> Long.SIZE - n, n);
+        }
+        if (bits > 0) {
+            int remaining = (int) bits;
+            int shortenedLength = shortenedLength(remaining);
+            writer.write(encodeCodeword(reader.read(remaining) << Long.SIZE - remaining)
+                    >>> Long.SIZE - shortenedLength, shortenedLength);
+        }
+        writer.flush();
+
+        return encodedLength;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        int signalLength = decodedLength(encodedLength);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(offset, signalLength, signal.length);
+
+        BitStream.Reader reader = new BitStream.Reader(encodedSignal, encodedOffset, encodedLength);
+        BitStream.Writer writer = new BitStream.Writer(signal, offset, signalLength);
+
+        long bits = (long) signalLength * Coder.BYTE_BITS_AMOUNT;
+        for (; bits >= k; bits -= k) {
+            writer.write(decodeCodeword(reader.read(n) << Long.SIZE - n, n) >>> Long.SIZE - k, k);
+        }
+        if (bits > 0) {
+            int remaining = (int) bits;
+            int length = shortenedLength(remaining);
+            writer.write(decodeCodeword(reader.read(length) << Long.SIZE - length, length) >>> Long.SIZE - remaining,
+                    remaining);
+        }
+        writer.flush();
+
+        return signalLength;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /**
+     * @param data significant bits from bit 63 down, the unused ones are 0
+     * @return codeword from bit 63 down
+     */
+    long encodeCodeword(long data) {
+        long codeword = 0;
+        for (int i = 0; i < scatterTable.length; i++) {
+            codeword |= scatterTable[i][byteOf(data, i)];
+        }
+        return codeword | parityTable[syndrome(codeword)];
+    }
+
+    /**
+     * Corrects a single bit error, a syndrome pointing past the codeword is left uncorrected
+     *
+     * @param codeword received codeword from bit 63 down
+     * @param length   amount of bits sent, less than n for a shortened codeword
+     * @return significant bits from bit 63 down
+     */
+    long decodeCodeword(long codeword, int length) {
+        int syndrome = syndrome(codeword);
+        if (syndrome != 0 && syndrome <= length) {
+            codeword ^= positionBit(syndrome);
+        }
+
+        long data = 0;
+        for (int i = 0; i < gatherTable.length; i++) {
+            data |= gatherTable[i][byteOf(codeword, i)];
+        }
+        return data;
+    }
+
+    private int syndrome(long codeword) {
+        int syndrome = 0;
+        for (int i = 0; i < syndromeTable.length; i++) {
+            syndrome ^= syndromeTable[i][byteOf(codeword, i)];
+        }
+        return syndrome;
+    }
+
+    private static int byteOf(long bits, int index) {
+        return (int) (bits >>> (Long.SIZE - Coder.BYTE_BITS_AMOUNT * (index + 1))) & 0xFF;
+    }
+
+    private static long positionBit(int position) {
+        return 1L << (Long.SIZE - position);
+    }
+
+    /**
+     * @return amount of codeword bits carrying the significant bits, up to the last significant position used
+     */
+    private int shortenedLength(int significantBits) {
+        return significantPositions[significantBits - 1];
+    }
+
+    /**
+     * @return amount of bits encoding a partial block of the signal
+     */
+    private long tailBits(int length) {
+        long bits = (long) length * Coder.BYTE_BITS_AMOUNT;
+        long remaining = bits % k;
+        return bits / k * n + (remaining == 0 ? 0 : shortenedLength((int) remaining));
+    }
+
+    private long[][] buildScatterTable() {
+        long[][] table = new long[(k + Coder.BYTE_BITS_AMOUNT - 1) / Coder.BYTE_BITS_AMOUNT][256];
+        for (int i = 0; i < k; i++) {
+            int chunk = i / Coder.BYTE_BITS_AMOUNT;
+            int bit = Coder.BYTE_BITS_AMOUNT - 1 - i % Coder.BYTE_BITS_AMOUNT;
+            for (int value = 0; value < 256; value++) {
+                if ((value >>> bit & 1) != 0) {
+                    table[chunk][value] |= positionBit(significantPositions[i]);
+                }
+            }
+        }
+        return table;
+    }
+
+    private int[][] buildSyndromeTable() {
+        int[][] table = new int[(n + Coder.BYTE_BITS_AMOUNT - 1) / Coder.BYTE_BITS_AMOUNT][256];
+        for (int position = 1; position <= n; position++) {
+            int chunk = (position - 1) / Coder.BYTE_BITS_AMOUNT;
+            int bit = Coder.BYTE_BITS_AMOUNT - 1 - (position - 1) % Coder.BYTE_BITS_AMOUNT;
+            for (int value = 0; value < 256; value++) {
+                if ((value >>> bit & 1) != 0) {
+                    table[chunk][value] ^= position;
+                }
+            }
+        }
+        return table;
+    }
+
+    private long[][] buildGatherTable() {
+        long[][] table = new long[(n + Coder.BYTE_BITS_AMOUNT - 1) / Coder.BYTE_BITS_AMOUNT][256];
+        for (int i = 0; i < k; i++) {
+            int position = significantPositions[i];
+            int chunk = (position - 1) / Coder.BYTE_BITS_AMOUNT;
+            int bit = Coder.BYTE_BITS_AMOUNT - 1 - (position - 1) % Coder.BYTE_BITS_AMOUNT;
+            for (int value = 0; value < 256; value++) {
+                if ((value >>> bit & 1) != 0) {
+                    table[chunk][value] |= 1L << (Long.SIZE - 1 - i);
+                }
+            }
+        }
+        return table;
+    }
+
+    private long[] buildParityTable() {
+        long[] table = new long[1 << parityBits];
+        for (int syndrome = 0; syndrome < table.length; syndrome++) {
+            for (int j = 0; j < parityBits; j++) {
+                if ((syndrome >>> j & 1) != 0) {
+                    table[syndrome] |= positionBit(parityPositions[j]);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Every signal byte adds at least 8 encoded bits, so the encoded lengths of the partial blocks are
+     * all different and below n bytes
+     */
+    private int[] buildTailLengths() {
+        int[] table = new int[n];
+        for (int length = 1; length < k; length++) {
+            int encodedLength = (int) ((tailBits(length) + Coder.BYTE_BITS_AMOUNT - 1) / Coder.BYTE_BITS_AMOUNT);
+            for (int i = encodedLength; i < n; i++) {
+                table[i] = length;
+            }
+        }
+        return table;
+    }
+}
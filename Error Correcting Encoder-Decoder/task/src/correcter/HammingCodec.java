@@ -0,0 +1,67 @@
+package correcter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hamming(7,4) through HammingEncoder and HammingDecoder, every nibble becomes one byte
+ */
+class HammingCodec implements Codec {
+
+    static final String NAME = "hamming";
+    static final byte ID = 1;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public int signalBlock() {
+        return 1;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return 2;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return HammingEncoder.encodedLength(length);
+    }
+
+    @Override
+    public int decodedLength(int encodedLength) {
+        return HammingDecoder.decodedLength(encodedLength);
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        return HammingEncoder.encode(signal, offset, length, encodedSignal, encodedOffset);
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        return HammingDecoder.decode(encodedSignal, encodedOffset, encodedLength, signal, offset);
+    }
+
+    @Override
+    public int encode(ByteBuffer signal, ByteBuffer encodedSignal) {
+        return HammingEncoder.encode(signal, encodedSignal);
+    }
+
+    @Override
+    public int decode(ByteBuffer encodedSignal, ByteBuffer signal) {
+        return HammingDecoder.decode(encodedSignal, signal);
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package correcter;
+
+import java.util.Objects;
+
+/**
+ * A codec followed by the Interleaver between encoding and transmission, the received signal is deinterleaved
+ * before being decoded. The interleaved blocks are made of whole blocks of the codec, a trailing partial one
+ * is sent as encoded.
+ */
+class InterleavedCodec implements Codec {
+
+    static final String PREFIX = "interleaved-";
+
+    /**
+     * Set in the identifier of the codec to tell the interleaved one
+     */
+    private static final int INTERLEAVED_ID = 0x80;
+
+    private final Codec codec;
+    private final Interleaver interleaver;
+
+    /**
+     * Encoded blocks of the codec waiting to be interleaved or deinterleaved ones waiting to be decoded
+     */
+    private final ThreadLocal<byte[]> buffer;
+
+    /**
+     * @param depth bytes of an interleaved block, a multiple of 8 and of the encoded block of the codec
+     */
+    InterleavedCodec(Codec codec, int depth) {
+        if (depth % codec.encodedBlock() != 0) {
+            throw new IllegalArgumentException("The depth must be a multiple of the encoded block of " + codec.name()
+                    + ": " + depth);
+        }
+        if ((codec.id() & INTERLEAVED_ID) != 0) {
+            throw new IllegalArgumentException("The codec id " + codec.id() + " cannot be interleaved");
+        }
+        this.codec = codec;
+        this.interleaver = new Interleaver(depth);
+        this.buffer = ThreadLocal.withInitial(() -> new byte[depth]);
+    }
+
+    @Override
+    public String name() {
+        return PREFIX + codec.name();
+    }
+
+    @Override
+    public byte id() {
+        return (byte) (INTERLEAVED_ID | codec.id());
+    }
+
+    @Override
+    public int signalBlock() {
+        return interleaver.depth() / codec.encodedBlock() * codec.signalBlock();
+    }
+
+    @Override
+    public int encodedBlock() {
+        return interleaver.depth();
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return codec.encodedLength(length);
+    }
+
+    @Override
+    public int decodedLength(int encodedLength) {
+        return codec.decodedLength(encodedLength);
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        int encodedLength = codec.encode(signal, offset, length, encodedSignal, encodedOffset);
+
+        byte[] block = buffer.get();
+        for (int i = 0; i + block.length <= encodedLength; i += block.length) {
+            System.arraycopy(encodedSignal, encodedOffset + i, block, 0, block.length);
+            interleaver.interleave(block, 0, block.length, encodedSignal, encodedOffset + i);
+        }
+
+        return encodedLength;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(offset, decodedLength(encodedLength), signal.length);
+
+        byte[] block = buffer.get();
+        int decoded = 0;
+        int i = 0;
+        for (; i + block.length <= encodedLength; i += block.length) {
+            interleaver.deinterleave(encodedSignal, encodedOffset + i, block.length, block, 0);
+            decoded += codec.decode(block, 0, block.length, signal, offset + decoded);
+        }
+        if (i < encodedLength) {
+            decoded += codec.decode(encodedSignal, encodedOffset + i, encodedLength - i, signal, offset + decoded);
+        }
+
+        return decoded;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return codec.isStateless();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return codec.isThreadSafe();
+    }
+}
@@ -0,0 +1,148 @@
+package correcter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Bit-level block interleaver. A block of depth bytes is a matrix of depth rows of 8 bits, written by rows and
+ * sent by columns: the first bit of every byte, then the second bit of every byte and so on. Two bits of the
+ * same byte end up depth bits apart, so a burst of at most depth bits reaches every byte at most once, which
+ * codes correcting one error per byte, like the Hamming ones, then correct.
+ * <p>
+ * The transpose goes by tiles of 8 rows: the 8 bytes of a tile are read as a long, transposed as an 8 by 8 bit
+ * matrix and its bytes are written depth / 8 bytes apart, one in every column of the block. Eight tiles in a row
+ * are transposed as an 8 by 8 byte matrix too, so that their columns are written as whole longs.
+ */
+final class Interleaver {
+
+    static final int DEFAULT_DEPTH = 256;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Low bytes of every pair, every 2 bytes and every 4 bytes, swapped with the high ones of the next rows
+     */
+    private static final long[] BYTE_TRANSPOSE_MASKS = {0x00FF00FF00FF00FFL, 0x0000FFFF0000FFFFL, 0x00000000FFFFFFFFL};
+
+    private final int depth;
+
+    /**
+     * @param depth bytes of a block, a positive multiple of 8
+     */
+    Interleaver(int depth) {
+        if (depth <= 0 || depth % Long.BYTES != 0) {
+            throw new IllegalArgumentException("The depth must be a positive multiple of 8: " + depth);
+        }
+        this.depth = depth;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Interleaves every whole block of the range, a trailing partial block is copied as it is
+     *
+     * @return amount of bytes written
+     */
+    int interleave(byte[] source, int offset, int length, byte[] destination, int destinationOffset) {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+
+        int tiles = depth / Long.BYTES;
+        long[] group = new long[Long.BYTES];
+        int i = 0;
+        for (; i + depth <= length; i += depth) {
+            int tile = 0;
+            for (; tile + Long.BYTES <= tiles; tile += Long.BYTES) {
+                for (int j = 0; j < Long.BYTES; j++) {
+                    group[j] = transpose((long) LONG_VIEW.get(source, offset + i + (tile + j) * Long.BYTES));
+                }
+                transposeBytes(group);
+                for (int column = 0; column < Long.BYTES; column++) {
+                    LONG_VIEW.set(destination, destinationOffset + i + column * tiles + tile, group[column]);
+                }
+            }
+            for (; tile < tiles; tile++) {
+                long columns = transpose((long) LONG_VIEW.get(source, offset + i + tile * Long.BYTES));
+                for (int column = 0, index = destinationOffset + i + tile; column < Long.BYTES;
+                     column++, index += tiles) {
+                    destination[index] = (byte) (columns >>> (Long.SIZE - Byte.SIZE * (column + 1)));
+                }
+            }
+        }
+        System.arraycopy(source, offset + i, destination, destinationOffset + i, length - i);
+
+        return length;
+    }
+
+    /**
+     * Restores the bytes of every whole block of the range, a trailing partial block is copied as it is
+     *
+     * @return amount of bytes written
+     */
+    int deinterleave(byte[] source, int offset, int length, byte[] destination, int destinationOffset) {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+
+        int tiles = depth / Long.BYTES;
+        long[] group = new long[Long.BYTES];
+        int i = 0;
+        for (; i + depth <= length; i += depth) {
+            int tile = 0;
+            for (; tile + Long.BYTES <= tiles; tile += Long.BYTES) {
+                for (int column = 0; column < Long.BYTES; column++) {
+                    group[column] = (long) LONG_VIEW.get(source, offset + i + column * tiles + tile);
+                }
+                transposeBytes(group);
+                for (int j = 0; j < Long.BYTES; j++) {
+                    LONG_VIEW.set(destination, destinationOffset + i + (tile + j) * Long.BYTES, transpose(group[j]));
+                }
+            }
+            for (; tile < tiles; tile++) {
+                long columns = 0;
+                for (int column = 0, index = offset + i + tile; column < Long.BYTES; column++, index += tiles) {
+                    columns = columns << Byte.SIZE | source[index] & 0xFF;
+                }
+                LONG_VIEW.set(destination, destinationOffset + i + tile * Long.BYTES, transpose(columns));
+            }
+        }
+        System.arraycopy(source, offset + i, destination, destinationOffset + i, length - i);
+
+        return length;
+    }
+
+    /**
+     * Transposes the 8 by 8 bit matrix whose rows are the bytes of the word, the first one highest, and whose
+     * columns are their bits, the highest first. It swaps the 1 by 1, then 2 by 2, then 4 by 4 blocks
+     * on both sides of the diagonal.
+     */
+    static long transpose(long matrix) {
+        long swap = (matrix ^ matrix >>> 7) & 0x00AA00AA00AA00AAL;
+        matrix ^= swap ^ swap << 7;
+        swap = (matrix ^ matrix >>> 14) & 0x0000CCCC0000CCCCL;
+        matrix ^= swap ^ swap << 14;
+        swap = (matrix ^ matrix >>> 28) & 0x00000000F0F0F0F0L;
+        return matrix ^ swap ^ swap << 28;
+    }
+
+    /**
+     * Transposes the 8 by 8 byte matrix whose rows are the words, the first byte of a word highest. Like
+     * transpose, it swaps the 4 by 4, then 2 by 2, then 1 by 1 blocks on both sides of the diagonal.
+     */
+    static void transposeBytes(long[] rows) {
+        for (int half = Long.BYTES / 2, shift = Long.SIZE / 2; half > 0; half /= 2, shift /= 2) {
+            long mask = BYTE_TRANSPOSE_MASKS[Integer.numberOfTrailingZeros(half)];
+            for (int i = 0; i < Long.BYTES; i++) {
+                if ((i & half) == 0) {
+                    long swap = (rows[i] ^ rows[i + half] >>> shift) & mask;
+                    rows[i] ^= swap;
+                    rows[i + half] ^= swap << shift;
+                }
+            }
+        }
+    }
+}
@@ -1,19 +1,60 @@
 package correcter;
 
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongFunction;
+import javax.management.JMException;
 
 enum Mode {
     ENCODE, SEND, DECODE;
 }
 
+/**
+ * Implementation used by HammingEncoder.encode and HammingDecoder.decode.
+ * It is selected with -Dcorrecter.hamming=bitwise|table|swar|vector, the lookup tables are the default.
+ * SWAR decodes eight received bytes per long and encodes with the lookup table.
+ * VECTOR also runs InterferenceGenerator.interfere on the Vector API, it falls back to the lookup tables
+ * when the VectorBackend is not available.
+ */
+enum HammingEngine {
+    BITWISE, TABLE, SWAR, VECTOR;
+
+    static final HammingEngine SELECTED = select(System.getProperty("correcter.hamming", "table"));
+
+    private static HammingEngine select(String name) {
+        HammingEngine engine = valueOf(name.toUpperCase());
+        if (engine == VECTOR && VectorBackend.INSTANCE.isEmpty()) {
+            return TABLE;
+        }
+        return engine;
+    }
+}
+
 class InterferenceGenerator {
 
     private final static char BEGIN_RANGE = 32;
@@ -23,8 +64,7 @@ class InterferenceGenerator {
 
     //Generates a random noise character
     private char getNoise() {
-        Random random = new Random();
-        return (char) (random.nextInt(END_RANGE) + BEGIN_RANGE);
+        return (char) (ThreadLocalRandom.current().nextInt(END_RANGE) + BEGIN_RANGE);
     }
 
     /**
@@ -54,11 +94,46 @@ class InterferenceGenerator {
     }
 
     public static byte[] interfere(byte[] signal) {
-        for (int i = 0; i < signal.length; i++) {
-            signal[i] ^= 1 << INTERFERENCE_PERIOD;
-        }
+        interfere(signal, 0, signal.length, signal, 0);
         return signal;
     }
+
+    /**
+     * Introduces one bit of noise in every byte of the range, the source and the destination can be the same array
+     *
+     * @param signal            to be interfered
+     * @param offset            first byte of the signal
+     * @param length            amount of bytes to interfere
+     * @param interfered        destination of the interfered signal
+     * @param interferedOffset  first byte of the destination
+     */
+    static void interfere(byte[] signal, int offset, int length, byte[] interfered, int interferedOffset) {
+        int i = 0;
+        if (HammingEngine.SELECTED == HammingEngine.VECTOR) {
+            i = VectorBackend.INSTANCE.get().interfere(signal, offset, length, interfered, interferedOffset);
+        }
+
+        for (; i < length; i++) {
+            interfered[interferedOffset + i] = (byte) (signal[offset + i] ^ 1 << INTERFERENCE_PERIOD);
+        }
+    }
+
+    /**
+     * Introduces one bit of noise in every remaining byte of the signal
+     *
+     * @param signal     to be interfered, it is consumed
+     * @param interfered destination, it needs as many remaining bytes as the signal
+     * @return amount of bytes written
+     */
+    static int interfere(ByteBuffer signal, ByteBuffer interfered) {
+        int length = signal.remaining();
+
+        while (signal.hasRemaining()) {
+            interfered.put((byte) (signal.get() ^ 1 << INTERFERENCE_PERIOD));
+        }
+
+        return length;
+    }
 }
 
 interface Coder {
@@ -186,10 +261,50 @@ interface Coder {
         return (byte) (bite & HammingCoder.SECOND_NIBBLE);
     }
 
+    /**
+     * Checks that the destination has room for the output before anything is consumed
+     *
+     * @param destination  buffer to be written
+     * @param outputLength amount of bytes that are going to be written
+     */
+    static void checkRemaining(ByteBuffer destination, int outputLength) {
+        if (destination.remaining() < outputLength) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    /**
+     * Runs the array version of a codec on the remaining bytes of two array backed buffers
+     * and moves both positions past the bytes read and written
+     *
+     * @return amount of bytes written
+     */
+    static int applyToArrays(ByteBuffer source, ByteBuffer destination, ParallelEngine.RangeTransform range) {
+        int written = range.apply(source.array(), source.arrayOffset() + source.position(), source.remaining(),
+                destination.array(), destination.arrayOffset() + destination.position());
+
+        source.position(source.limit());
+        destination.position(destination.position() + written);
+        return written;
+    }
+
 }
 
 class Decoder implements Coder {
 
+    /**
+     * Set in the entries of the bits table of the received bytes whose duples differed
+     */
+    static final int ERROR_DETECTED = 1 << Coder.BYTE_PARITY_AMOUNT;
+    private static final int BITS_MASK = ERROR_DETECTED - 1;
+
+    /**
+     * Fixed bits of every received byte value with the error flag, in this format 0000 EXXX
+     */
+    private static final byte[] BITS_TABLE = buildBitsTable();
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
     /**
      * Evaluates by repetition which character is the right one, The most prevalent is the valid data
      */
@@ -223,47 +338,193 @@ class Decoder implements Coder {
     }
 
     public static byte[] decode(byte[] encodedSignal) {
-        int pairedBitsAmount = encodedSignal.length * 2;
-        int totalBitsAmount = encodedSignal.length * Coder.BYTE_BITS_AMOUNT;
+        byte[] decodedSignal = new byte[decodedLength(encodedSignal.length)];
+        decode(encodedSignal, 0, encodedSignal.length, decodedSignal, 0);
+        return decodedSignal;
+    }
 
-        int decodedBitsAmount = (totalBitsAmount - pairedBitsAmount) / 2;
-        int decodedSignalLength = decodedBitsAmount / Coder.BYTE_BITS_AMOUNT;
-        byte[] decodedSignal = new byte[decodedSignalLength];
+    /**
+     * Amount of bytes decoded from the encoded length, three significant bits per encoded byte
+     *
+     * @param encodedLength amount of encoded bytes
+     * @return amount of decoded bytes
+     */
+    public static int decodedLength(int encodedLength) {
+        // the last triple of an encoded signal holds less than a byte of padding, which is dropped here
+        return (int) (encodedLength * (long) Coder.BYTE_PARITY_AMOUNT / Coder.BYTE_BITS_AMOUNT);
+    }
 
-        int bitIndex = 0;
-        int decodedIndex = 0;
-        byte rawByte = 0;
-        byte fixedByte = 0;
+    /**
+     * Decodes a range of the encoded signal into the destination. The range has to start at an encoded block,
+     * every 8 encoded bytes are 3 decoded bytes.
+     *
+     * @param encodedSignal received signal
+     * @param encodedOffset first byte of the received signal
+     * @param encodedLength amount of received bytes
+     * @param decodedSignal destination, it needs room for decodedLength(encodedLength) bytes
+     * @param decodedOffset first byte of the destination
+     * @return amount of bytes written
+     */
+    public static int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] decodedSignal,
+                             int decodedOffset) {
+        int decodedSignalLength = decodedLength(encodedLength);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(decodedOffset, decodedSignalLength, decodedSignal.length);
+
+        CorrectionStatistics.Batch batch = CorrectionStatistics.BIT_REPETITION.batch();
+        if (batch != null) {
+            return decodeCounting(encodedSignal, encodedOffset, encodedLength, decodedSignal, decodedOffset, batch);
+        }
 
-        for (int i = 0; i < encodedSignal.length; i++) {
+        int end = encodedOffset + encodedLength;
+        int limit = decodedOffset + decodedSignalLength;
+        int i = encodedOffset;
+        int index = decodedOffset;
 
-            bitIndex = bitIndex + Coder.BYTE_PARITY_AMOUNT;
+        // two blocks are 6 decoded bytes, stored as a long whose last 2 bytes the next store overwrites
+        for (; i + 2 * Long.BYTES <= end && index + Long.BYTES <= limit; i += 2 * Long.BYTES, index += 6) {
+            long bits = (long) repack((long) LONG_VIEW.get(encodedSignal, i)) << 40
+                    | (long) repack((long) LONG_VIEW.get(encodedSignal, i + Long.BYTES)) << 16;
+            LONG_VIEW.set(decodedSignal, index, bits);
+        }
+        for (; i + Long.BYTES <= end; i += Long.BYTES, index += 3) {
+            int bits = repack((long) LONG_VIEW.get(encodedSignal, i));
+            decodedSignal[index] = (byte) (bits >>> 16);
+            decodedSignal[index + 1] = (byte) (bits >>> 8);
+            decodedSignal[index + 2] = (byte) bits;
+        }
 
-            int shifts = Coder.BYTE_BITS_AMOUNT - bitIndex;
+        int bits = 0;
+        int bitsAmount = 0;
+        for (; i < end; i++) {
+            bits = bits << Coder.BYTE_PARITY_AMOUNT | bitsDecoder(encodedSignal[i]);
+            bitsAmount += Coder.BYTE_PARITY_AMOUNT;
+            if (bitsAmount >= Coder.BYTE_BITS_AMOUNT) {
+                bitsAmount -= Coder.BYTE_BITS_AMOUNT;
+                decodedSignal[index++] = (byte) (bits >>> bitsAmount);
+            }
+        }
 
-            fixedByte = Decoder.bitsDecoder(encodedSignal[i]);
+        return decodedSignalLength;
+    }
 
+    /**
+     * Decodes with the table like decode, counting every received byte in the batch as its block is repacked
+     */
+    private static int decodeCounting(byte[] encodedSignal, int encodedOffset, int encodedLength,
+                                      byte[] decodedSignal, int decodedOffset, CorrectionStatistics.Batch batch) {
+        int end = encodedOffset + encodedLength;
+        int i = encodedOffset;
+        int index = decodedOffset;
+
+        for (; i + Long.BYTES <= end; i += Long.BYTES, index += 3) {
+            long word = (long) LONG_VIEW.get(encodedSignal, i);
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                batch.count((byte) (word >>> shift));
+            }
+            int bits = repack(word);
+            decodedSignal[index] = (byte) (bits >>> 16);
+            decodedSignal[index + 1] = (byte) (bits >>> 8);
+            decodedSignal[index + 2] = (byte) bits;
+        }
 
-            if (shifts >= 0) {
-                rawByte |= (fixedByte << shifts);
+        int bits = 0;
+        int bitsAmount = 0;
+        for (; i < end; i++) {
+            batch.count(encodedSignal[i]);
+            bits = bits << Coder.BYTE_PARITY_AMOUNT | bitsDecoder(encodedSignal[i]);
+            bitsAmount += Coder.BYTE_PARITY_AMOUNT;
+            if (bitsAmount >= Coder.BYTE_BITS_AMOUNT) {
+                bitsAmount -= Coder.BYTE_BITS_AMOUNT;
+                decodedSignal[index++] = (byte) (bits >>> bitsAmount);
+            }
+        }
+        batch.record();
 
-            } else {
-                rawByte |= (byte) (fixedByte >>> Math.abs(shifts));
+        return decodedLength(encodedLength);
+    }
 
-                decodedSignal[decodedIndex] = rawByte;
+    /**
+     * @param word 8 received bytes, the first one highest
+     * @return their 24 fixed bits
+     */
+    private static int repack(long word) {
+        int bits = 0;
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            bits = bits << Coder.BYTE_PARITY_AMOUNT | BITS_TABLE[(int) (word >>> shift) & 0xFF] & BITS_MASK;
+        }
+        return bits;
+    }
 
-                rawByte = (byte) (fixedByte << (Coder.BYTE_BITS_AMOUNT + shifts));
+    /**
+     * Decodes the signal byte by byte without the table, this is the reference for the table and the repacking
+     */
+    static byte[] decodeBitwise(byte[] encodedSignal) {
+        byte[] decodedSignal = new byte[decodedLength(encodedSignal.length)];
+        BitStream.Writer writer = new BitStream.Writer(decodedSignal, 0, decodedSignal.length);
 
-                decodedIndex++;
-                bitIndex = Math.abs(shifts);
-            }
+        for (byte encodedByte : encodedSignal) {
+            writer.write(bitsDecoderBitwise(encodedByte) & BITS_MASK, Coder.BYTE_PARITY_AMOUNT);
         }
 
-        if (decodedIndex < decodedSignalLength) {
-            decodedSignal[decodedIndex] = rawByte;
+        writer.flush();
+        return decodedSignal;
+    }
+
+    /**
+     * @return true when the duples of the received byte differ, the decoded bits were then fixed with the parity
+     */
+    static boolean isErrorDetected(byte bite) {
+        return (BITS_TABLE[bite & 0xFF] & ERROR_DETECTED) != 0;
+    }
+
+    private static byte[] buildBitsTable() {
+        byte[] table = new byte[256];
+
+        for (int i = 0; i < table.length; i++) {
+            table[i] = bitsDecoderBitwise((byte) i);
         }
 
-        return decodedSignal;
+        return table;
+    }
+
+    /**
+     * Decodes the remaining bytes of the received signal, heap or direct, into the destination
+     *
+     * @param encodedSignal received signal, it is consumed
+     * @param decodedSignal destination, it needs decodedLength(remaining) bytes
+     * @return amount of bytes written
+     */
+    public static int decode(ByteBuffer encodedSignal, ByteBuffer decodedSignal) {
+        int decodedSignalLength = decodedLength(encodedSignal.remaining());
+        Coder.checkRemaining(decodedSignal, decodedSignalLength);
+
+        if (encodedSignal.hasArray() && decodedSignal.hasArray()) {
+            return Coder.applyToArrays(encodedSignal, decodedSignal, Decoder::decode);
+        }
+
+        int decodedBits = 0;
+        int bitsAmount = 0;
+        CorrectionStatistics.Batch batch = CorrectionStatistics.BIT_REPETITION.batch();
+
+        while (encodedSignal.hasRemaining()) {
+            byte encodedByte = encodedSignal.get();
+            if (batch != null) {
+                batch.count(encodedByte);
+            }
+            decodedBits = decodedBits << Coder.BYTE_PARITY_AMOUNT | bitsDecoder(encodedByte);
+            bitsAmount += Coder.BYTE_PARITY_AMOUNT;
+
+            if (bitsAmount >= Coder.BYTE_BITS_AMOUNT) {
+                bitsAmount -= Coder.BYTE_BITS_AMOUNT;
+                decodedSignal.put((byte) (decodedBits >>> bitsAmount));
+            }
+        }
+        if (batch != null) {
+            batch.record();
+        }
+
+        return decodedSignalLength;
     }
 
     /**
@@ -272,8 +533,16 @@ class Decoder implements Coder {
      * @param bite
      * @return returns the byte with the fixed bit in this format: 0000 0XXX
      */
+    static byte bitsDecoder(byte bite) {
+        return (byte) (BITS_TABLE[bite & 0xFF] & BITS_MASK);
+    }
 
-    private static byte bitsDecoder(byte bite) {
+    /**
+     * Fixes the byte duple by duple, this is the reference for the table
+     *
+     * @return returns the byte with the fixed bit and the error flag in this format: 0000 EXXX
+     */
+    static byte bitsDecoderBitwise(byte bite) {
         byte decodedByte = 0;
         byte partialXOR = 0;
         int dupleErrorIndex = 0;
@@ -299,6 +568,7 @@ class Decoder implements Coder {
 
         if (dupleErrorIndex != 0) {
             decodedByte |= (getFixedBit(partialXOR, Coder.getBit(bite, 0)) << (dupleErrorIndex - 1));
+            decodedByte |= ERROR_DETECTED;
         }
 
         return decodedByte;
@@ -355,6 +625,8 @@ interface HammingCoder extends Coder {
 
 abstract class Encoder implements Coder {
 
+    private static final byte[] ENCODED_TRIPLES = buildEncodedTriples();
+
     /**
      * Encodes the input signal multiplying each data for the interference period
      *
@@ -375,55 +647,206 @@ abstract class Encoder implements Coder {
     }
 
     public static byte[] encode(byte[] signal) {
-        // get length without remainder
-        int bitsLength = signal.length * Coder.BYTE_BITS_AMOUNT;
-        int integerTripleBitsLength = (int) Math.ceil((double) bitsLength / Coder.BYTE_PARITY_AMOUNT);
+        byte[] encodedSignal = new byte[encodedLength(signal.length)];
+        encode(signal, 0, signal.length, encodedSignal, 0);
+        return encodedSignal;
+    }
+
+    /**
+     * Amount of bytes needed to encode the signal length, three significant bits per encoded byte
+     *
+     * @param length amount of signal bytes
+     * @return amount of encoded bytes
+     */
+    public static int encodedLength(int length) {
+        long bitsLength = length * (long) Coder.BYTE_BITS_AMOUNT;
+        return Math.toIntExact((bitsLength + Coder.BYTE_PARITY_AMOUNT - 1) / Coder.BYTE_PARITY_AMOUNT);
+    }
 
-        int parityBitsAmount = integerTripleBitsLength;
-        int resultLength = (int) Math.ceil((double) ((bitsLength + parityBitsAmount) * 2) / Coder.BYTE_BITS_AMOUNT);
-        byte[] encodedSignal = new byte[resultLength];
+    /**
+     * Encodes a range of the signal into the destination. Every 3 signal bytes are 8 encoded bytes,
+     * so a range starting at a multiple of 3 is encoded as it would be inside the whole signal.
+     *
+     * @param signal        to be encoded
+     * @param offset        first byte of the signal
+     * @param length        amount of signal bytes
+     * @param encodedSignal destination, it needs room for encodedLength(length) bytes
+     * @param encodedOffset first byte of the destination
+     * @return amount of bytes written
+     */
+    public static int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        int encodedSignalLength = encodedLength(length);
+        Objects.checkFromIndexSize(encodedOffset, encodedSignalLength, encodedSignal.length);
 
-        int encodedSignalIndex = 0;
-        byte encodedByte = 0;
-        int tripleCount = 3;
+        BitStream.Reader reader = new BitStream.Reader(signal, offset, length);
+        for (int i = encodedOffset; i < encodedOffset + encodedSignalLength; i++) {
+            encodedSignal[i] = ENCODED_TRIPLES[(int) reader.read(Coder.BYTE_PARITY_AMOUNT)];
+        }
 
-        for (int i = 0; i < signal.length; i++) {
-            for (int j = 0; j < Coder.BYTE_BITS_AMOUNT; j++) {
-                int bitIndex = Coder.BYTE_BITS_AMOUNT - 1 - j;
-                int destinationDupleIndex = tripleCount * 2;
-                byte bit = Coder.getBit(signal[i], bitIndex);
+        return encodedSignalLength;
+    }
 
-                bit = Coder.shiftBit(bit, bitIndex, destinationDupleIndex);
-                bit = Coder.getBitDuple(bit);
-                encodedByte |= bit;
+    /**
+     * Encodes the remaining bytes of the signal, heap or direct, into the destination
+     *
+     * @param signal        to be encoded, it is consumed
+     * @param encodedSignal destination, it needs encodedLength(remaining) bytes
+     * @return amount of bytes written
+     */
+    public static int encode(ByteBuffer signal, ByteBuffer encodedSignal) {
+        int encodedSignalLength = encodedLength(signal.remaining());
+        Coder.checkRemaining(encodedSignal, encodedSignalLength);
 
-                if (tripleCount == 1) {
+        if (signal.hasArray() && encodedSignal.hasArray()) {
+            return Coder.applyToArrays(signal, encodedSignal, Encoder::encode);
+        }
 
-                    encodedSignal[encodedSignalIndex] = (byte) (encodedByte | Coder.getParity(encodedByte));
+        int bits = 0;
+        int bitsAmount = 0;
 
-                    encodedSignalIndex++;
-                    encodedByte = 0;
-                    tripleCount = 4;
-                }
+        while (signal.hasRemaining()) {
+            bits = bits << Coder.BYTE_BITS_AMOUNT | signal.get() & 0xFF;
+            bitsAmount += Coder.BYTE_BITS_AMOUNT;
 
-                tripleCount--;
+            for (; bitsAmount >= Coder.BYTE_PARITY_AMOUNT; bitsAmount -= Coder.BYTE_PARITY_AMOUNT) {
+                encodedSignal.put(ENCODED_TRIPLES[bits >>> (bitsAmount - Coder.BYTE_PARITY_AMOUNT) & 0x07]);
             }
         }
 
-        // Creates the new bytes for the complete byte sequence
-        if (tripleCount != 3) {
-            encodedSignal[encodedSignalIndex] = (byte) (encodedByte | Coder.getParity(encodedByte));//Coder.getParity(encodedByte);
+        if (bitsAmount > 0) {
+            encodedSignal.put(ENCODED_TRIPLES[bits << (Coder.BYTE_PARITY_AMOUNT - bitsAmount) & 0x07]);
         }
 
-        return encodedSignal;
+        return encodedSignalLength;
     }
 
+    /**
+     * Encoded byte of every three signal bits, the first one highest: each bit and then their parity doubled
+     */
+    private static byte[] buildEncodedTriples() {
+        byte[] table = new byte[1 << Coder.BYTE_PARITY_AMOUNT];
+
+        for (int triple = 0; triple < table.length; triple++) {
+            int parity = Integer.bitCount(triple) & 1;
+            int duples = (triple >>> 2 & 1) << 6 | (triple >>> 1 & 1) << 4 | (triple & 1) << 2 | parity;
+            table[triple] = (byte) (duples | duples << 1);
+        }
 
+        return table;
+    }
 }
 
 class HammingEncoder extends Encoder implements HammingCoder {
 
+    /**
+     * Encoded form of every byte value, the first nibble in the high byte and the second one in the low byte
+     */
+    private static final short[] ENCODE_TABLE = buildEncodeTable();
+
     public static byte[] encode(byte[] signal) {
+        if (HammingEngine.SELECTED == HammingEngine.BITWISE) {
+            return encodeBitwise(signal);
+        }
+        return encodeTable(signal);
+    }
+
+    /**
+     * Encodes the signal looking up both encoded nibbles of every byte
+     *
+     * @param signal to be encoded
+     * @return encoded signal, two bytes per signal byte
+     */
+    static byte[] encodeTable(byte[] signal) {
+        byte[] encodedSignal = new byte[encodedLength(signal.length)];
+        encode(signal, 0, signal.length, encodedSignal, 0);
+        return encodedSignal;
+    }
+
+    /**
+     * Amount of bytes needed to encode the signal length, one encoded byte per nibble
+     *
+     * @param length amount of signal bytes
+     * @return amount of encoded bytes
+     */
+    public static int encodedLength(int length) {
+        return Math.multiplyExact(length, 2);
+    }
+
+    /**
+     * Encodes a range of the signal into the destination with the lookup table, whole vectors go
+     * through the VectorBackend first when it is the selected engine
+     *
+     * @param signal        to be encoded
+     * @param offset        first byte of the signal
+     * @param length        amount of signal bytes
+     * @param encodedSignal destination, it needs room for length * 2 bytes
+     * @param encodedOffset first byte of the destination
+     * @return amount of bytes written
+     */
+    public static int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        Objects.checkFromIndexSize(offset, length, signal.length);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength(length), encodedSignal.length);
+
+        int i = offset;
+        int index = encodedOffset;
+        if (HammingEngine.SELECTED == HammingEngine.VECTOR) {
+            int encoded = VectorBackend.INSTANCE.get().encode(signal, offset, length, encodedSignal, encodedOffset);
+            i += encoded;
+            index += encoded * 2;
+        }
+
+        for (; i < offset + length; i++, index += 2) {
+            short encoded = ENCODE_TABLE[signal[i] & 0xFF];
+            encodedSignal[index] = (byte) (encoded >>> Coder.BYTE_BITS_AMOUNT);
+            encodedSignal[index + 1] = (byte) encoded;
+        }
+
+        return length * 2;
+    }
+
+    /**
+     * Encodes the remaining bytes of the signal, heap or direct, into the destination with the lookup table
+     *
+     * @param signal        to be encoded, it is consumed
+     * @param encodedSignal destination, it needs twice the remaining bytes of the signal
+     * @return amount of bytes written
+     */
+    public static int encode(ByteBuffer signal, ByteBuffer encodedSignal) {
+        int length = signal.remaining();
+        Coder.checkRemaining(encodedSignal, encodedLength(length));
+
+        if (signal.hasArray() && encodedSignal.hasArray()) {
+            return Coder.applyToArrays(signal, encodedSignal, HammingEncoder::encode);
+        }
+
+        while (signal.hasRemaining()) {
+            short encoded = ENCODE_TABLE[signal.get() & 0xFF];
+            encodedSignal.put((byte) (encoded >>> Coder.BYTE_BITS_AMOUNT));
+            encodedSignal.put((byte) encoded);
+        }
+
+        return encodedLength(length);
+    }
+
+    private static short[] buildEncodeTable() {
+        short[] table = new short[256];
+
+        for (int i = 0; i < table.length; i++) {
+            byte firstNibble = HammingEncoder.encodeNibble(Coder.getFirstNibble((byte) i));
+            byte secondNibble = HammingEncoder.encodeNibble(Coder.getSecondNibble((byte) i));
+            table[i] = (short) ((firstNibble & 0xFF) << Coder.BYTE_BITS_AMOUNT | (secondNibble & 0xFF));
+        }
+
+        return table;
+    }
+
+    /**
+     * Encodes the signal bit by bit, this is the reference for the lookup table
+     *
+     * @param signal to be encoded
+     * @return encoded signal, two bytes per signal byte
+     */
+    static byte[] encodeBitwise(byte[] signal) {
         int encodedSignalLength = signal.length * 2;
         byte[] encodedSignal = new byte[encodedSignalLength];
 
@@ -500,7 +923,204 @@ class HammingEncoder extends Encoder implements HammingCoder {
 
 class HammingDecoder extends Decoder implements HammingCoder {
 
+    /**
+     * Corrected nibble for every received byte value in this format 0000 XXXX
+     */
+    private static final byte[] DECODE_TABLE = buildDecodeTable();
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Bit 1 of every byte of a long
+     */
+    private static final long CHECK_BITS = 0x0202020202020202L;
+
     public static byte[] decode(byte[] encodedSignal) {
+        if (HammingEngine.SELECTED == HammingEngine.BITWISE) {
+            return decodeBitwise(encodedSignal);
+        }
+        return decodeTable(encodedSignal);
+    }
+
+    /**
+     * Decodes the signal looking up the corrected nibble of every received byte
+     *
+     * @param encodedSignal received signal, two bytes per decoded byte
+     * @return decoded signal
+     */
+    static byte[] decodeTable(byte[] encodedSignal) {
+        byte[] signal = new byte[decodedLength(encodedSignal.length)];
+        decode(encodedSignal, 0, encodedSignal.length, signal, 0);
+        return signal;
+    }
+
+    /**
+     * Amount of bytes decoded from the encoded length, a trailing odd byte is not decoded
+     *
+     * @param encodedLength amount of encoded bytes
+     * @return amount of decoded bytes
+     */
+    public static int decodedLength(int encodedLength) {
+        return encodedLength / 2;
+    }
+
+    /**
+     * Decodes a range of the received signal into the destination, eight received bytes at a time with SWAR
+     * or whole vectors with the VectorBackend when one of them is the selected engine, and the rest with
+     * the lookup table, a trailing odd byte is ignored. While the CorrectionStatistics are enabled
+     * every byte goes through the lookup table and is counted.
+     *
+     * @param encodedSignal received signal
+     * @param encodedOffset first byte of the received signal
+     * @param encodedLength amount of received bytes
+     * @param signal        destination, it needs room for encodedLength / 2 bytes
+     * @param offset        first byte of the destination
+     * @return amount of bytes written
+     */
+    public static int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        int signalLength = decodedLength(encodedLength);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(offset, signalLength, signal.length);
+
+        CorrectionStatistics.Batch batch = CorrectionStatistics.HAMMING.batch();
+        if (batch != null) {
+            return decodeCounting(encodedSignal, encodedOffset, signalLength, signal, offset, batch);
+        }
+
+        int i = offset;
+        int index = encodedOffset;
+        if (HammingEngine.SELECTED == HammingEngine.SWAR) {
+            int words = signalLength / Integer.BYTES;
+            decodeWords(encodedSignal, encodedOffset, words, signal, offset);
+            i += words * Integer.BYTES;
+            index += words * Long.BYTES;
+        } else if (HammingEngine.SELECTED == HammingEngine.VECTOR) {
+            int pairs = VectorBackend.INSTANCE.get().decode(encodedSignal, encodedOffset, signalLength, signal, offset);
+            i += pairs;
+            index += pairs * 2;
+        }
+
+        for (; i < offset + signalLength; i++, index += 2) {
+            signal[i] = (byte) (DECODE_TABLE[encodedSignal[index] & 0xFF] << HammingCoder.SIGNIFICANT_BITS
+                    | DECODE_TABLE[encodedSignal[index + 1] & 0xFF]);
+        }
+
+        return signalLength;
+    }
+
+    /**
+     * Decodes the remaining pairs of the received signal, heap or direct, into the destination
+     * with the lookup table, a trailing odd byte is left in the buffer
+     *
+     * @param encodedSignal received signal, it is consumed
+     * @param signal        destination, it needs half the remaining bytes of the received signal
+     * @return amount of bytes written
+     */
+    public static int decode(ByteBuffer encodedSignal, ByteBuffer signal) {
+        int signalLength = decodedLength(encodedSignal.remaining());
+        Coder.checkRemaining(signal, signalLength);
+
+        if (encodedSignal.hasArray() && signal.hasArray()) {
+            int pairsEnd = encodedSignal.position() + signalLength * 2;
+            ByteBuffer pairs = encodedSignal.duplicate().limit(pairsEnd);
+            encodedSignal.position(pairsEnd);
+            return Coder.applyToArrays(pairs, signal, HammingDecoder::decode);
+        }
+
+        CorrectionStatistics.Batch batch = CorrectionStatistics.HAMMING.batch();
+        for (int i = 0; i < signalLength; i++) {
+            byte first = encodedSignal.get();
+            byte second = encodedSignal.get();
+            if (batch != null) {
+                batch.count(first);
+                batch.count(second);
+            }
+            signal.put((byte) (DECODE_TABLE[first & 0xFF] << HammingCoder.SIGNIFICANT_BITS
+                    | DECODE_TABLE[second & 0xFF]));
+        }
+        if (batch != null) {
+            batch.record();
+        }
+
+        return signalLength;
+    }
+
+    /**
+     * Decodes with the lookup table like decode, counting every received byte in the batch
+     */
+    private static int decodeCounting(byte[] encodedSignal, int encodedOffset, int signalLength, byte[] signal,
+                                      int offset, CorrectionStatistics.Batch batch) {
+        for (int i = offset, index = encodedOffset; i < offset + signalLength; i++, index += 2) {
+            batch.count(encodedSignal[index]);
+            batch.count(encodedSignal[index + 1]);
+            signal[i] = (byte) (DECODE_TABLE[encodedSignal[index] & 0xFF] << HammingCoder.SIGNIFICANT_BITS
+                    | DECODE_TABLE[encodedSignal[index + 1] & 0xFF]);
+        }
+        batch.record();
+
+        return signalLength;
+    }
+
+    /**
+     * Decodes whole words of eight received bytes into four signal bytes each, no bounds are checked
+     *
+     * @param encodedSignal received signal
+     * @param encodedOffset first byte of the received signal
+     * @param words         amount of words
+     * @param signal        destination
+     * @param offset        first byte of the destination
+     */
+    static void decodeWords(byte[] encodedSignal, int encodedOffset, int words, byte[] signal, int offset) {
+        for (int w = 0; w < words; w++) {
+            long word = (long) LONG_VIEW.get(encodedSignal, encodedOffset + w * Long.BYTES);
+            INT_VIEW.set(signal, offset + w * Integer.BYTES, decodeWord(word));
+        }
+    }
+
+    /**
+     * Corrects and decodes the eight received bytes of a word at once, the same way as the lookup table.
+     * Only the checks of bits 2 and 4 select the bit to flip: both clear flips the parity bit 6 that is not
+     * decoded, otherwise the data bit 5, 3 or 2.
+     *
+     * @param word eight received bytes, the first one in the highest byte
+     * @return four decoded bytes, the first one in the highest byte
+     */
+    static int decodeWord(long word) {
+        // neighbours are XORed first, then both checks land on bit 1 of every byte
+        long neighbours = word ^ word >>> 1;
+        long check2 = (neighbours ^ neighbours >>> 4) & CHECK_BITS;
+        long check4 = (neighbours ^ neighbours >>> 2) & CHECK_BITS;
+
+        long fixed = word
+                ^ (check2 & ~check4) << 4
+                ^ (check4 & ~check2) << 2
+                ^ (check2 & check4) << 1;
+
+        long nibbles = (fixed >>> 2) & 0x0808080808080808L | (fixed >>> 1) & 0x0707070707070707L;
+
+        long pairs = (nibbles >>> 4 | nibbles) & 0x00FF00FF00FF00FFL;
+        pairs = (pairs >>> 8 | pairs) & 0x0000FFFF0000FFFFL;
+        return (int) (pairs >>> 16 | pairs);
+    }
+
+    private static byte[] buildDecodeTable() {
+        byte[] table = new byte[256];
+
+        for (int i = 0; i < table.length; i++) {
+            table[i] = HammingDecoder.decodeNibble((byte) i);
+        }
+
+        return table;
+    }
+
+    /**
+     * Decodes the signal bit by bit, this is the reference for the lookup table
+     *
+     * @param encodedSignal received signal, two bytes per decoded byte
+     * @return decoded signal
+     */
+    static byte[] decodeBitwise(byte[] encodedSignal) {
         int signalLength = encodedSignal.length / 2;
         byte[] signal = new byte[signalLength];
 
@@ -517,6 +1137,13 @@ class HammingDecoder extends Decoder implements HammingCoder {
         return signal;
     }
 
+    /**
+     * @return the nibble the decoder gives for the received byte, in this format 0000 XXXX
+     */
+    static byte decodedNibble(byte receivedByte) {
+        return DECODE_TABLE[receivedByte & 0xFF];
+    }
+
     /**
      * Decodes the provided encoded byte
      *
@@ -608,28 +1235,243 @@ public class Main {
     private final static String RECEIVED_FILE = "received.txt";
     private final static String DECODED_FILE = "decoded.txt";
 
+    /**
+     * Signal bytes processed per chunk, it is even so no encoded pair is split between chunks
+     */
+    private final static int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Signal bytes processed per chunk in the parallel mode, big enough to be split between the cores
+     */
+    private final static int PARALLEL_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Signal bytes mapped at once in the memory mapped mode, rounded down to whole blocks of the codec
+     */
+    private final static int MAPPED_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final static String MAPPED_OPTION = "--mmap";
+    private final static String PARALLEL_OPTION = "--parallel";
+    private final static String CODEC_OPTION = "--codec=";
+    private final static String FRAMED_OPTION = "--framed";
+    private final static String NOISE_OPTION = "--noise=";
+    private final static String SEED_OPTION = "--seed=";
+    private final static String STATISTICS_OPTION = "--stats";
+    private final static String SERVER_OPTION = "--server";
+    private final static String ROOT_OPTION = "--root=";
+    private final static String BATCH_OPTION = "--batch=";
+    private final static String OUTPUT_OPTION = "--output=";
+    private final static String BATCH_OUTPUT_DIRECTORY = "batch-output";
+
+    /**
+     * Maps the files into memory instead of streaming them through heap buffers
+     */
+    private boolean memoryMapped;
+
+    /**
+     * Encodes into a framed container, decoding recognizes one on its own
+     */
+    private boolean framed;
+
+    private boolean parallel;
+    private int chunkSize = CHUNK_SIZE;
+    private final ParallelEngine engine = ParallelEngine.common();
+    private Codec codec = CodecRegistry.forName(CodecRegistry.DEFAULT_CODEC);
+
+    /**
+     * Channel simulating the errors when sending, the InterferenceGenerator is used without it
+     */
+    private NoiseChannel noiseChannel;
+
+    /**
+     * Reports the corrections of the decoder on the error stream
+     */
+    private boolean statistics;
+
+    private String sentFile = SENT_FILE;
+    private String encodedFile = ENCODED_FILE;
+    private String receivedFile = RECEIVED_FILE;
+    private String decodedFile = DECODED_FILE;
+
     public static void main(String[] args) {
-        Main main = new Main();
+        Main main = fromArguments(args);
         InterferenceGenerator ie = new InterferenceGenerator();
 
+        for (String arg : args) {
+            if (arg.startsWith(SERVER_OPTION)) {
+                main.serve(arg.length() > SERVER_OPTION.length()
+                        ? Integer.parseInt(arg.substring(SERVER_OPTION.length() + 1)) : 0, args);
+                return;
+            }
+            if (arg.startsWith(BATCH_OPTION)) {
+                main.batch(arg.substring(BATCH_OPTION.length()), args);
+                return;
+            }
+        }
+
         Mode mode = main.getMode();
 
         try {
-            byte[] signal = main.getSignal();
+            main.run(mode);
+        } catch (IOException e) {
+            System.out.println(e.getCause());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return a Main with the options of the command line, working on the default files
+     */
+    static Main fromArguments(String[] args) {
+        Main main = new Main();
 
+        main.memoryMapped = Arrays.asList(args).contains(MAPPED_OPTION);
+        main.framed = Arrays.asList(args).contains(FRAMED_OPTION);
+        main.parallel = Arrays.asList(args).contains(PARALLEL_OPTION);
+        main.statistics = Arrays.asList(args).contains(STATISTICS_OPTION);
+        if (main.parallel) {
+            main.chunkSize = PARALLEL_CHUNK_SIZE;
+        }
+        ErrorModel errorModel = null;
+        long seed = System.nanoTime();
+        for (String arg : args) {
+            if (arg.startsWith(CODEC_OPTION)) {
+                main.codec = CodecRegistry.forName(arg.substring(CODEC_OPTION.length()));
+            } else if (arg.startsWith(NOISE_OPTION)) {
+                errorModel = ErrorModel.parse(arg.substring(NOISE_OPTION.length()));
+            } else if (arg.startsWith(SEED_OPTION)) {
+                seed = Long.parseLong(arg.substring(SEED_OPTION.length()));
+            }
+        }
+        if (errorModel != null) {
+            main.noiseChannel = new NoiseChannel(errorModel, seed);
+        }
+        if (main.statistics && CorrectionStatistics.forCodec(main.codec.name()).isEmpty()) {
+            throw new IllegalArgumentException(CorrectionStatistics.unavailableFor(main.codec.name()));
+        }
 
-            switch (mode) {
-                case ENCODE:
-                    main.encode();
-                    break;
+        return main;
+    }
 
-                case SEND:
-                    main.sendSignal();
-                    break;
-                case DECODE:
-                    main.decode();
-                    break;
+    /**
+     * @return a Main with the same options running the mode from the input file into the output file
+     */
+    Main forFiles(Mode mode, String inputFile, String outputFile) {
+        Main main = new Main();
+        main.memoryMapped = memoryMapped;
+        main.framed = framed;
+        main.parallel = parallel;
+        main.chunkSize = chunkSize;
+        main.codec = codec;
+        main.noiseChannel = noiseChannel;
+        main.statistics = statistics;
+
+        switch (mode) {
+            case ENCODE:
+                main.sentFile = inputFile;
+                main.encodedFile = outputFile;
+                break;
+            case SEND:
+                main.encodedFile = inputFile;
+                main.receivedFile = outputFile;
+                break;
+            case DECODE:
+                main.receivedFile = inputFile;
+                main.decodedFile = outputFile;
+                break;
+        }
+        return main;
+    }
+
+    void run(Mode mode) throws IOException {
+        switch (mode) {
+            case ENCODE:
+                encode();
+                break;
+
+            case SEND:
+                sendSignal();
+                break;
+            case DECODE:
+                decode();
+                break;
+        }
+    }
+
+    /**
+     * Runs the mode on a whole file held in memory, like run does from the input file into the output file.
+     * The correction statistics are not reported.
+     *
+     * @return the output file content
+     * @throws IOException if a framed container has corrupted or missing blocks
+     */
+    byte[] apply(Mode mode, byte[] input) throws IOException {
+        switch (mode) {
+            case ENCODE:
+                if (framed) {
+                    FramedContainer container = new FramedContainer(codec, input.length,
+                            FramedContainer.blockSizeFor(codec, FramedContainer.DEFAULT_BLOCK_SIZE));
+                    ByteArrayOutputStream output = new ByteArrayOutputStream(
+                            Math.toIntExact(container.encodedLength()));
+                    container.write(new ByteArrayInputStream(input), output);
+                    return output.toByteArray();
+                }
+                return transform(ParallelEngine.encoding(codec), input, codec.encodedLength(input.length));
+
+            case SEND:
+                if (noiseChannel != null) {
+                    return noiseChannel.transmit(input);
+                }
+                return transform(ParallelEngine.INTERFERENCE, input, input.length);
+
+            case DECODE:
+                Optional<FramedContainer> container = FramedContainer.decodeHeader(
+                        Arrays.copyOf(input, Math.min(input.length, FramedContainer.ENCODED_HEADER_LENGTH)));
+                if (container.isPresent()) {
+                    // the header is not trusted with the allocation, the signal is never longer than its frames
+                    ByteArrayOutputStream output = new ByteArrayOutputStream(
+                            (int) Math.min(container.get().originalLength(), input.length));
+                    int offset = FramedContainer.ENCODED_HEADER_LENGTH;
+                    FramedContainer.Report report = container.get().read(
+                            new ByteArrayInputStream(input, offset, input.length - offset), output);
+                    if (!report.isComplete()) {
+                        throw new IOException("Incomplete framed container: " + report);
+                    }
+                    return output.toByteArray();
+                }
+                return transform(ParallelEngine.decoding(codec), input, codec.decodedLength(input.length));
+
+            default:
+                throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+    }
+
+    private byte[] transform(ParallelEngine.BlockTransform block, byte[] input, int outputLength) {
+        byte[] output = new byte[outputLength];
+        engine.transform(block, input, 0, input.length, output, 0);
+        return output;
+    }
+
+    /**
+     * Stays resident and runs the jobs sent to the port of the loopback address with these options,
+     * until the process is stopped. The jobs are confined to the directory of the root option, the
+     * current one by default.
+     *
+     * @param port 0 for any free port
+     */
+    private void serve(int port, String[] args) {
+        String root = ".";
+        for (String arg : args) {
+            if (arg.startsWith(ROOT_OPTION)) {
+                root = arg.substring(ROOT_OPTION.length());
             }
+        }
+
+        try (CodecServer server = new CodecServer(this, port, Runtime.getRuntime().availableProcessors(),
+                Paths.get(root))) {
+            System.out.println("Listening on port " + server.port() + " for the files of " + server.root()
+                    + ", the token is in " + server.tokenFile());
+            server.run();
         } catch (IOException e) {
             System.out.println(e.getCause());
             e.printStackTrace();
@@ -637,14 +1479,30 @@ public class Main {
     }
 
     /**
-     * Get the signal from the file.
-     *
-     * @return returns the input signal
+     * Runs the mode read from the input on every file of a directory or manifest, into the directory
+     * of the output option
      */
-    private byte[] getSignal() throws IOException {
-        return Files.readAllBytes(Paths.get(SENT_FILE));
-    }
+    private void batch(String source, String[] args) {
+        String outputDirectory = BATCH_OUTPUT_DIRECTORY;
+        for (String arg : args) {
+            if (arg.startsWith(OUTPUT_OPTION)) {
+                outputDirectory = arg.substring(OUTPUT_OPTION.length());
+            }
+        }
 
+        Mode mode = getMode();
+        int processors = Runtime.getRuntime().availableProcessors();
+        try {
+            BatchProcessor processor = new BatchProcessor(this, 2 * processors, processors);
+            Path sourcePath = Paths.get(source);
+            BatchProcessor.Report report = processor.process(mode, BatchProcessor.baseOf(sourcePath),
+                    BatchProcessor.listInputs(sourcePath), Paths.get(outputDirectory), System.out);
+            System.out.println(report);
+        } catch (IOException e) {
+            System.out.println(e.getCause());
+            e.printStackTrace();
+        }
+    }
 
     public Mode getMode() {
         Scanner scanner = new Scanner(System.in);
@@ -657,13 +1515,17 @@ public class Main {
      * and save the resulted bytes into the file named encoded.txt.
      */
     public void encode() throws IOException {
-        byte[] signal = Files.readAllBytes(Paths.get(SENT_FILE));
+        if (framed) {
+            encodeFramed();
+            return;
+        }
 
-        signal = HammingEncoder.encode(signal);
+        if (memoryMapped) {
+            transferMapped(sentFile, encodedFile, codec.signalBlock(), codec::encodedLength, codec::encode);
+            return;
+        }
 
-        OutputStream writer = new FileOutputStream(ENCODED_FILE, false);
-        writer.write(signal);
-        writer.close();
+        transfer(sentFile, encodedFile, ParallelEngine.encoding(codec));
     }
 
 
@@ -671,16 +1533,20 @@ public class Main {
      * you should take the file from encoded.txt
      * and simulate the errors in its bytes (1 bit per byte) and save
      * the resulted bytes into the file named received.txt.
+     * With a noise channel the errors come from its error model, the file is then always streamed.
      */
     private void sendSignal() throws IOException {
+        if (noiseChannel != null) {
+            transfer(encodedFile, receivedFile, noiseChannel::transform);
+            return;
+        }
 
-        byte[] signal = Files.readAllBytes(Paths.get(ENCODED_FILE));
-
-        signal = InterferenceGenerator.interfere(signal);
+        if (memoryMapped) {
+            transferMapped(encodedFile, receivedFile, 1, length -> length, InterferenceGenerator::interfere);
+            return;
+        }
 
-        OutputStream writer = new FileOutputStream(RECEIVED_FILE, false);
-        writer.write(signal);
-        writer.close();
+        transfer(encodedFile, receivedFile, ParallelEngine.INTERFERENCE);
     }
 
     /**
@@ -688,13 +1554,167 @@ public class Main {
      * Save the text into the file named decoded.txt.
      */
     public void decode() throws IOException {
-        byte[] signal = Files.readAllBytes(Paths.get(RECEIVED_FILE));
+        Optional<FramedContainer> container = readContainerHeader();
+        Codec decoderCodec = container.map(FramedContainer::codec).orElse(codec);
+        Optional<CorrectionStatistics> corrections = statistics
+                ? CorrectionStatistics.forCodec(decoderCodec.name()) : Optional.empty();
+        corrections.ifPresent(Main::enableStatistics);
+        if (statistics && corrections.isEmpty()) {
+            // the codec of a framed container is only known now
+            System.err.println(CorrectionStatistics.unavailableFor(decoderCodec.name()));
+        }
+
+        if (container.isPresent()) {
+            decodeFramed(container.get());
+        } else {
+            decodeRaw();
+        }
 
-        signal = HammingDecoder.decode(signal);
+        corrections.ifPresent(System.err::println);
+    }
 
-        OutputStream writer = new FileOutputStream(DECODED_FILE, false);
-        writer.write(signal);
-        writer.close();
+    /**
+     * Enables the counters and registers them in JMX, so a long decode can be followed live
+     */
+    private static void enableStatistics(CorrectionStatistics corrections) {
+        corrections.setEnabled(true);
+        try {
+            corrections.register();
+        } catch (JMException e) {
+            System.err.println("The correction statistics are not available in JMX: " + e.getMessage());
+        }
+    }
+
+    private void decodeRaw() throws IOException {
+        if (memoryMapped) {
+            transferMapped(receivedFile, decodedFile, codec.encodedBlock(), codec::decodedLength, codec::decode);
+            return;
+        }
+
+        transfer(receivedFile, decodedFile, ParallelEngine.decoding(codec));
+    }
+
+    /**
+     * Writes the signal as a framed container, the codec and the signal length are recorded in its header
+     */
+    private void encodeFramed() throws IOException {
+        FramedContainer container = new FramedContainer(codec, Files.size(Paths.get(sentFile)),
+                FramedContainer.blockSizeFor(codec, FramedContainer.DEFAULT_BLOCK_SIZE));
+
+        try (InputStream reader = new FileInputStream(sentFile);
+             OutputStream writer = new BufferedOutputStream(new FileOutputStream(encodedFile, false))) {
+            container.write(reader, writer);
+        }
+    }
+
+    /**
+     * @return the container the received file starts with, empty if it is a raw signal
+     */
+    private Optional<FramedContainer> readContainerHeader() throws IOException {
+        try (InputStream reader = new FileInputStream(receivedFile)) {
+            return FramedContainer.decodeHeader(reader.readNBytes(FramedContainer.ENCODED_HEADER_LENGTH));
+        }
+    }
+
+    /**
+     * Decodes a framed container with the codec of its header, the blocks failing their checksum
+     * or missing from the received file are reported
+     */
+    private void decodeFramed(FramedContainer container) throws IOException {
+        FramedContainer.Report report;
+        if (parallel) {
+            report = container.readParallel(Paths.get(receivedFile), Paths.get(decodedFile));
+        } else {
+            try (InputStream reader = new BufferedInputStream(new FileInputStream(receivedFile));
+                 OutputStream writer = new FileOutputStream(decodedFile, false)) {
+                reader.readNBytes(FramedContainer.ENCODED_HEADER_LENGTH);
+                report = container.read(reader, writer);
+            }
+        }
+
+        if (!report.isComplete()) {
+            System.err.println(report);
+        }
+    }
+
+    /**
+     * Streams the input file into the output file one chunk at a time, reusing the same pair of buffers,
+     * so the memory used does not depend on the file size. Chunks above the engine threshold are split
+     * between the cores.
+     *
+     * @param inputFile  file to be read
+     * @param outputFile file to be written, it is overwritten
+     * @param block      converts each chunk, every chunk but the last one is a whole number of its blocks
+     */
+    private void transfer(String inputFile, String outputFile, ParallelEngine.BlockTransform block)
+            throws IOException {
+        transfer(inputFile, outputFile, position -> block);
+    }
+
+    /**
+     * Streams the input file like transfer, with a block transform depending on the position of the chunk
+     * in the input file, every transform having the blocks of the first one
+     *
+     * @param blockAt block transform of the chunk starting at the position
+     */
+    private void transfer(String inputFile, String outputFile, LongFunction<ParallelEngine.BlockTransform> blockAt)
+            throws IOException {
+        ParallelEngine.BlockTransform block = blockAt.apply(0);
+        byte[] chunk = new byte[Math.max(block.inputBlock, chunkSize / block.inputBlock * block.inputBlock)];
+        byte[] output = new byte[chunk.length / block.inputBlock * block.outputBlock];
+
+        try (InputStream reader = new FileInputStream(inputFile);
+             OutputStream writer = new FileOutputStream(outputFile, false)) {
+            long position = 0;
+            int length;
+            while ((length = reader.readNBytes(chunk, 0, chunk.length)) > 0) {
+                writer.write(output, 0, engine.transform(blockAt.apply(position), chunk, 0, length, output, 0));
+                position += length;
+            }
+        }
+    }
+
+    /**
+     * Maps the input file window by window and transforms each one straight into a mapped window of the output file,
+     * the output file is sized up front so no signal byte is copied into the heap.
+     *
+     * @param inputFile  file to be read
+     * @param outputFile file to be written, it is overwritten
+     * @param inputBlock every window but the last one is a whole number of these blocks
+     * @param outputSize output length for an input length
+     * @param transform  converts each window
+     */
+    private void transferMapped(String inputFile, String outputFile, int inputBlock, IntUnaryOperator outputSize,
+                                BufferTransform transform) throws IOException {
+        try (FileChannel input = FileChannel.open(Paths.get(inputFile), StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(Paths.get(outputFile), StandardOpenOption.READ,
+                     StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long inputLength = input.size();
+            long inputPosition = 0;
+            long outputPosition = 0;
+
+            while (inputPosition < inputLength) {
+                int windowLength = (int) Math.min(MAPPED_WINDOW_SIZE / inputBlock * inputBlock,
+                        inputLength - inputPosition);
+                int outputWindowLength = outputSize.applyAsInt(windowLength);
+
+                MappedByteBuffer window = input.map(FileChannel.MapMode.READ_ONLY, inputPosition, windowLength);
+                MappedByteBuffer outputWindow = output.map(FileChannel.MapMode.READ_WRITE, outputPosition,
+                        outputWindowLength);
+                transform.apply(window, outputWindow);
+
+                inputPosition += windowLength;
+                outputPosition += outputWindowLength;
+            }
+        }
+    }
+
+    /**
+     * Converts the remaining bytes of the window into the output window
+     */
+    @FunctionalInterface
+    private interface BufferTransform {
+        int apply(ByteBuffer window, ByteBuffer output);
     }
 
 }
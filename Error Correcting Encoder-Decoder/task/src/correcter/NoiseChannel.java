@@ -0,0 +1,71 @@
+package correcter;
+
+/**
+ * Simulates a noisy channel with an ErrorModel. The signal is corrupted in noise blocks of BLOCK bytes,
+ * the random generator of every block is seeded from the channel seed and the block position in the stream,
+ * so the errors only depend on the seed: not on the threads, the chunks or the order the blocks are sent in.
+ */
+class NoiseChannel {
+
+    /**
+     * Bytes sharing one seeded generator, the ranges given to the channel start on these boundaries
+     */
+    static final int BLOCK = 64 * 1024;
+
+    private static final ThreadLocal<NoiseRandom> RANDOM = ThreadLocal.withInitial(() -> new NoiseRandom(0));
+
+    private final ErrorModel model;
+
+    /**
+     * Seed already mixed, so nearby seeds and block indexes do not give related generators
+     */
+    private final long mixedSeed;
+
+    NoiseChannel(ErrorModel model, long seed) {
+        this.model = model;
+        this.mixedSeed = NoiseRandom.splitMix(seed);
+    }
+
+    /**
+     * Sends the signal through the channel on the common engine
+     *
+     * @return a new array with the received signal
+     */
+    byte[] transmit(byte[] signal) {
+        byte[] received = new byte[signal.length];
+        ParallelEngine.common().transform(transform(0), signal, 0, signal.length, received, 0);
+        return received;
+    }
+
+    /**
+     * Sends a range of the signal through the channel, the source and the destination can be the same array
+     *
+     * @param position position in the stream of the first byte of the range, a multiple of BLOCK
+     * @return amount of bytes written
+     */
+    int transmit(byte[] signal, int offset, int length, byte[] received, int receivedOffset, long position) {
+        if (position % BLOCK != 0) {
+            throw new IllegalArgumentException("The position " + position + " is not on a noise block boundary");
+        }
+
+        System.arraycopy(signal, offset, received, receivedOffset, length);
+
+        NoiseRandom random = RANDOM.get();
+        for (int i = 0; i < length; i += BLOCK) {
+            random.reseed(mixedSeed ^ (position + i) / BLOCK);
+            model.corrupt(received, receivedOffset + i, Math.min(BLOCK, length - i), random);
+        }
+
+        return length;
+    }
+
+    /**
+     * @param position position in the stream of the first byte of the source array
+     * @return transform sending ranges of a source array that starts at the position, on noise block boundaries
+     */
+    ParallelEngine.BlockTransform transform(long position) {
+        return new ParallelEngine.BlockTransform(BLOCK, BLOCK,
+                (signal, offset, length, received, receivedOffset) ->
+                        transmit(signal, offset, length, received, receivedOffset, position + offset));
+    }
+}
@@ -0,0 +1,79 @@
+package correcter;
+
+/**
+ * xoshiro256** generator of the NoiseChannel. It is reseeded in place for every noise block,
+ * so a thread keeps using the same instance and nothing is allocated while the signal is corrupted.
+ */
+final class NoiseRandom {
+
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    NoiseRandom(long seed) {
+        reseed(seed);
+    }
+
+    /**
+     * Expands the seed into the whole state with SplitMix64, as recommended by the xoshiro authors
+     */
+    void reseed(long seed) {
+        s0 = splitMix(seed += 0x9E3779B97F4A7C15L);
+        s1 = splitMix(seed += 0x9E3779B97F4A7C15L);
+        s2 = splitMix(seed += 0x9E3779B97F4A7C15L);
+        s3 = splitMix(seed + 0x9E3779B97F4A7C15L);
+    }
+
+    static long splitMix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    /**
+     * @return uniform value in [0, 1)
+     */
+    double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * @return uniform value in [0, bound), bound is positive
+     */
+    int nextInt(int bound) {
+        // Lemire's multiply and shift, the bias is below 2^-32 for the small bounds used here
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Amount of successes before the next failure, every trial failing with the probability whose
+     * log(1 - probability) is given
+     *
+     * @param logComplement Math.log1p(-probability)
+     * @return amount of trials to skip, Long.MAX_VALUE when the probability is 0
+     */
+    long nextGap(double logComplement) {
+        if (logComplement == 0) {
+            return Long.MAX_VALUE;
+        }
+        double gap = Math.floor(Math.log1p(-nextDouble()) / logComplement);
+        return gap >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) gap;
+    }
+}
@@ -0,0 +1,226 @@
+package correcter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a block codec over a large signal on several threads. The signal is split in ranges of whole blocks,
+ * every range is written into its own part of the shared destination, so no thread waits for another one.
+ */
+class ParallelEngine {
+
+    /**
+     * Signal bytes below which the work stays on the calling thread, it is also the size of every parallel range
+     */
+    static final int DEFAULT_THRESHOLD = 1024 * 1024;
+
+    static final BlockTransform HAMMING_ENCODE = new BlockTransform(1, 2, HammingEncoder::encode);
+    static final BlockTransform HAMMING_DECODE = new BlockTransform(2, 1, HammingDecoder::decode);
+    static final BlockTransform BIT_ENCODE = new BlockTransform(3, 8, Encoder::encode);
+    static final BlockTransform BIT_DECODE = new BlockTransform(8, 3, Decoder::decode);
+    static final BlockTransform INTERFERENCE = new BlockTransform(1, 1,
+            (signal, offset, length, destination, destinationOffset) -> {
+                InterferenceGenerator.interfere(signal, offset, length, destination, destinationOffset);
+                return length;
+            });
+
+    private static final ParallelEngine COMMON = new ParallelEngine(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+
+    private final Executor executor;
+    private final int threshold;
+
+    /**
+     * @param executor  runs the ranges, a ForkJoinPool splits them recursively
+     * @param threshold signal bytes below which the work is not split
+     */
+    ParallelEngine(Executor executor, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("The threshold must be positive: " + threshold);
+        }
+        this.executor = executor;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return block transform encoding with the codec
+     */
+    static BlockTransform encoding(Codec codec) {
+        return new BlockTransform(codec.signalBlock(), codec.encodedBlock(), codec::encode, codec.isThreadSafe());
+    }
+
+    /**
+     * @return block transform decoding with the codec
+     */
+    static BlockTransform decoding(Codec codec) {
+        return new BlockTransform(codec.encodedBlock(), codec.signalBlock(), codec::decode, codec.isThreadSafe());
+    }
+
+    /**
+     * @return engine running on the common ForkJoinPool with the default threshold
+     */
+    static ParallelEngine common() {
+        return COMMON;
+    }
+
+    byte[] encode(byte[] signal) {
+        byte[] encodedSignal = new byte[HammingEncoder.encodedLength(signal.length)];
+        transform(HAMMING_ENCODE, signal, 0, signal.length, encodedSignal, 0);
+        return encodedSignal;
+    }
+
+    byte[] decode(byte[] encodedSignal) {
+        byte[] signal = new byte[HammingDecoder.decodedLength(encodedSignal.length)];
+        transform(HAMMING_DECODE, encodedSignal, 0, encodedSignal.length, signal, 0);
+        return signal;
+    }
+
+    /**
+     * Parallel version of Encoder.encode, every 3 signal bytes are an independent block of 8 encoded bytes
+     */
+    byte[] encodeBits(byte[] signal) {
+        byte[] encodedSignal = new byte[Encoder.encodedLength(signal.length)];
+        transform(BIT_ENCODE, signal, 0, signal.length, encodedSignal, 0);
+        return encodedSignal;
+    }
+
+    /**
+     * Parallel version of Decoder.decode, every 8 encoded bytes are an independent block of 3 decoded bytes
+     */
+    byte[] decodeBits(byte[] encodedSignal) {
+        byte[] signal = new byte[Decoder.decodedLength(encodedSignal.length)];
+        transform(BIT_DECODE, encodedSignal, 0, encodedSignal.length, signal, 0);
+        return signal;
+    }
+
+    /**
+     * Transforms a range of the source into the destination. The whole blocks are split between the threads,
+     * the trailing partial block is transformed last on the calling thread. A transform which is not
+     * thread safe runs entirely on the calling thread.
+     *
+     * @return amount of bytes written
+     */
+    int transform(BlockTransform block, byte[] source, int offset, int length, byte[] destination,
+                  int destinationOffset) {
+        int blocks = length / block.inputBlock;
+        int wholeLength = blocks * block.inputBlock;
+        int written = blocks * block.outputBlock;
+
+        if (length < threshold || !block.threadSafe) {
+            return block.range.apply(source, offset, length, destination, destinationOffset);
+        }
+
+        int blocksPerRange = Math.max(1, threshold / block.inputBlock);
+
+        if (executor instanceof ForkJoinPool) {
+            ((ForkJoinPool) executor).invoke(new RangeAction(block, source, offset, destination, destinationOffset,
+                    0, blocks, blocksPerRange));
+        } else {
+            runOnExecutor(block, source, offset, destination, destinationOffset, blocks, blocksPerRange);
+        }
+
+        return written + block.range.apply(source, offset + wholeLength, length - wholeLength, destination,
+                destinationOffset + written);
+    }
+
+    private void runOnExecutor(BlockTransform block, byte[] source, int offset, byte[] destination,
+                               int destinationOffset, int blocks, int blocksPerRange) {
+        int ranges = (blocks + blocksPerRange - 1) / blocksPerRange;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[ranges];
+
+        for (int i = 0; i < ranges; i++) {
+            int firstBlock = i * blocksPerRange;
+            int lastBlock = Math.min(blocks, firstBlock + blocksPerRange);
+            futures[i] = CompletableFuture.runAsync(
+                    () -> block.apply(source, offset, destination, destinationOffset, firstBlock, lastBlock), executor);
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Transforms a range of source bytes into a range of destination bytes, returning the amount written
+     */
+    @FunctionalInterface
+    interface RangeTransform {
+        int apply(byte[] source, int offset, int length, byte[] destination, int destinationOffset);
+    }
+
+    /**
+     * A codec whose every input block of inputBlock bytes becomes an independent output block of outputBlock bytes
+     */
+    static final class BlockTransform {
+        final int inputBlock;
+        final int outputBlock;
+        final RangeTransform range;
+        final boolean threadSafe;
+
+        BlockTransform(int inputBlock, int outputBlock, RangeTransform range) {
+            this(inputBlock, outputBlock, range, true);
+        }
+
+        BlockTransform(int inputBlock, int outputBlock, RangeTransform range, boolean threadSafe) {
+            this.inputBlock = inputBlock;
+            this.outputBlock = outputBlock;
+            this.range = range;
+            this.threadSafe = threadSafe;
+        }
+
+        void apply(byte[] source, int offset, byte[] destination, int destinationOffset, int firstBlock,
+                   int lastBlock) {
+            range.apply(source, offset + firstBlock * inputBlock, (lastBlock - firstBlock) * inputBlock,
+                    destination, destinationOffset + firstBlock * outputBlock);
+        }
+    }
+
+    /**
+     * Splits the blocks in halves until they fit in one range
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BlockTransform block;
+        private final byte[] source;
+        private final int offset;
+        private final byte[] destination;
+        private final int destinationOffset;
+        private final int firstBlock;
+        private final int lastBlock;
+        private final int blocksPerRange;
+
+        RangeAction(BlockTransform block, byte[] source, int offset, byte[] destination, int destinationOffset,
+                    int firstBlock, int lastBlock, int blocksPerRange) {
+            this.block = block;
+            this.source = source;
+            this.offset = offset;
+            this.destination = destination;
+            this.destinationOffset = destinationOffset;
+            this.firstBlock = firstBlock;
+            this.lastBlock = lastBlock;
+            this.blocksPerRange = blocksPerRange;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastBlock - firstBlock <= blocksPerRange) {
+                block.apply(source, offset, destination, destinationOffset, firstBlock, lastBlock);
+                return;
+            }
+
+            int middleBlock = (firstBlock + lastBlock) >>> 1;
+            invokeAll(new RangeAction(block, source, offset, destination, destinationOffset,
+                            firstBlock, middleBlock, blocksPerRange),
+                    new RangeAction(block, source, offset, destination, destinationOffset,
+                            middleBlock, lastBlock, blocksPerRange));
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package correcter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reed-Solomon(255,223) over GF(256): every 223 signal bytes are followed by 32 parity bytes, so up to 16 wrong
+ * bytes of a block are corrected, whatever the amount of wrong bits in them. A burst of errors only touches
+ * consecutive symbols, which makes it the symbol level code for noisy links at a 14% overhead instead of the 200%
+ * of the symbol repetition.
+ * <p>
+ * The code is systematic and shortened for a partial last block: its bytes are followed by the 32 parity bytes too.
+ * The field is built on the primitive polynomial x^8 + x^4 + x^3 + x^2 + 1 with a as its root, the generator
+ * roots are a^0 to a^31. Decoding computes the syndromes, finds the error locator with Berlekamp-Massey,
+ * its roots with a Chien search and the error values with the Forney algorithm. A block with more errors
+ * than can be corrected is written as received.
+ */
+class ReedSolomonCodec implements Codec {
+
+    static final String NAME = "rs-255-223";
+    static final byte ID = 8;
+
+    static final int BLOCK_LENGTH = 255;
+    static final int PARITY_LENGTH = 32;
+    static final int DATA_LENGTH = BLOCK_LENGTH - PARITY_LENGTH;
+
+    private static final int PRIMITIVE_POLYNOMIAL = 0x11D;
+    private static final int FIELD_ORDER = 255;
+
+    /**
+     * a^i for i from 0 to 2 * 255, so that the sum of two logarithms needs no reduction
+     */
+    private static final int[] EXP = new int[FIELD_ORDER * 2 + 1];
+
+    /**
+     * Logarithm of every non zero element, LOG[0] is unused
+     */
+    private static final int[] LOG = new int[256];
+
+    static {
+        for (int i = 0, x = 1; i < EXP.length; i++) {
+            EXP[i] = x;
+            if (i < FIELD_ORDER) {
+                LOG[x] = i;
+            }
+            x <<= 1;
+            if (x > 0xFF) {
+                x ^= PRIMITIVE_POLYNOMIAL;
+            }
+        }
+    }
+
+    /**
+     * Logarithms of the generator polynomial coefficients from x^31 down to x^0, the x^32 one is 1
+     */
+    private static final int[] GENERATOR_LOG = buildGeneratorLog();
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public int signalBlock() {
+        return DATA_LENGTH;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return BLOCK_LENGTH;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        int remaining = length % DATA_LENGTH;
+        return Math.toIntExact((long) length / DATA_LENGTH * BLOCK_LENGTH
+                + (remaining == 0 ? 0 : remaining + PARITY_LENGTH));
+    }
+
+    /**
+     * A partial block too short to hold its parity bytes is not decoded
+     */
+    @Override
+    public int decodedLength(int encodedLength) {
+        return encodedLength / BLOCK_LENGTH * DATA_LENGTH
+                + Math.max(0, encodedLength % BLOCK_LENGTH - PARITY_LENGTH);
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        int encodedLength = encodedLength(length);
+        Objects.checkFromIndexSize(offset, length, signal.length);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int dataLength = Math.min(DATA_LENGTH, end - offset);
+            encodeBlock(signal, offset, dataLength, encodedSignal, encodedOffset);
+            offset += dataLength;
+            encodedOffset += dataLength + PARITY_LENGTH;
+        }
+
+        return encodedLength;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        decodeCounting(encodedSignal, encodedOffset, encodedLength, signal, offset);
+        return decodedLength(encodedLength);
+    }
+
+    /**
+     * Decodes a range of the received signal into the destination, which needs room for
+     * decodedLength(encodedLength) bytes
+     *
+     * @return amount of blocks with too many errors to be corrected
+     */
+    int decodeCounting(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        int signalLength = decodedLength(encodedLength);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(offset, signalLength, signal.length);
+
+        Workspace workspace = WORKSPACE.get();
+        int uncorrectable = 0;
+
+        for (int end = offset + signalLength; offset < end; ) {
+            int dataLength = Math.min(DATA_LENGTH, end - offset);
+            if (!decodeBlock(encodedSignal, encodedOffset, dataLength, signal, offset, workspace)) {
+                uncorrectable++;
+            }
+            offset += dataLength;
+            encodedOffset += dataLength + PARITY_LENGTH;
+        }
+
+        return uncorrectable;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /**
+     * Divides the data followed by 32 zeros by the generator polynomial, the remainder is computed in place
+     * of the parity bytes
+     */
+    private static void encodeBlock(byte[] signal, int offset, int dataLength, byte[] encodedSignal,
+                                    int encodedOffset) {
+        System.arraycopy(signal, offset, encodedSignal, encodedOffset, dataLength);
+
+        int parity = encodedOffset + dataLength;
+        Arrays.fill(encodedSignal, parity, parity + PARITY_LENGTH, (byte) 0);
+
+        for (int i = offset; i < offset + dataLength; i++) {
+            int feedback = (signal[i] ^ encodedSignal[parity]) & 0xFF;
+            System.arraycopy(encodedSignal, parity + 1, encodedSignal, parity, PARITY_LENGTH - 1);
+            encodedSignal[parity + PARITY_LENGTH - 1] = 0;
+
+            if (feedback != 0) {
+                int feedbackLog = LOG[feedback];
+                for (int j = 0; j < PARITY_LENGTH; j++) {
+                    encodedSignal[parity + j] ^= EXP[feedbackLog + GENERATOR_LOG[j]];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false when the block has more errors than can be corrected, it is then written as received
+     */
+    private static boolean decodeBlock(byte[] encodedSignal, int encodedOffset, int dataLength, byte[] signal,
+                                       int offset, Workspace workspace) {
+        System.arraycopy(encodedSignal, encodedOffset, signal, offset, dataLength);
+
+        int length = dataLength + PARITY_LENGTH;
+        if (!computeSyndromes(encodedSignal, encodedOffset, length, workspace.syndromes)) {
+            return true;
+        }
+
+        int errors = findErrorLocator(workspace);
+        if (errors * 2 > PARITY_LENGTH || !findErrorPositions(length, errors, workspace)) {
+            return false;
+        }
+
+        computeErrorEvaluator(errors, workspace);
+        for (int i = 0; i < errors; i++) {
+            int degree = workspace.positions[i];
+            int index = length - 1 - degree;
+            if (index < dataLength) {
+                signal[offset + index] ^= errorValue(degree, errors, workspace);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the received polynomial, first byte highest, at a^0 to a^31 with the Horner scheme
+     *
+     * @return true when a syndrome is not 0
+     */
+    private static boolean computeSyndromes(byte[] encodedSignal, int encodedOffset, int length, int[] syndromes) {
+        Arrays.fill(syndromes, 0);
+
+        for (int i = encodedOffset; i < encodedOffset + length; i++) {
+            int received = encodedSignal[i] & 0xFF;
+            for (int j = 0; j < PARITY_LENGTH; j++) {
+                int syndrome = syndromes[j];
+                syndromes[j] = (syndrome == 0 ? 0 : EXP[LOG[syndrome] + j]) ^ received;
+            }
+        }
+
+        int any = 0;
+        for (int syndrome : syndromes) {
+            any |= syndrome;
+        }
+        return any != 0;
+    }
+
+    /**
+     * Berlekamp-Massey: the shortest linear feedback register generating the syndromes
+     *
+     * @return degree of the error locator, the amount of errors
+     */
+    private static int findErrorLocator(Workspace workspace) {
+        int[] syndromes = workspace.syndromes;
+        int[] locator = workspace.locator;
+        int[] previous = workspace.previous;
+        int[] copy = workspace.copy;
+
+        Arrays.fill(locator, 0);
+        Arrays.fill(previous, 0);
+        locator[0] = 1;
+        previous[0] = 1;
+
+        int degree = 0;
+        int shift = 1;
+        int previousDiscrepancy = 1;
+
+        for (int n = 0; n < PARITY_LENGTH; n++) {
+            int discrepancy = syndromes[n];
+            for (int i = 1; i <= degree; i++) {
+                discrepancy ^= multiply(locator[i], syndromes[n - i]);
+            }
+
+            if (discrepancy == 0) {
+                shift++;
+                continue;
+            }
+
+            int scaleLog = LOG[discrepancy] + FIELD_ORDER - LOG[previousDiscrepancy];
+            if (2 * degree <= n) {
+                System.arraycopy(locator, 0, copy, 0, locator.length);
+                subtractShifted(locator, previous, scaleLog, shift);
+                degree = n + 1 - degree;
+                System.arraycopy(copy, 0, previous, 0, previous.length);
+                previousDiscrepancy = discrepancy;
+                shift = 1;
+            } else {
+                subtractShifted(locator, previous, scaleLog, shift);
+                shift++;
+            }
+        }
+
+        return degree;
+    }
+
+    /**
+     * locator -= a^scaleLog * x^shift * previous
+     */
+    private static void subtractShifted(int[] locator, int[] previous, int scaleLog, int shift) {
+        for (int i = 0; i + shift < locator.length; i++) {
+            if (previous[i] != 0) {
+                locator[i + shift] ^= EXP[(LOG[previous[i]] + scaleLog) % FIELD_ORDER];
+            }
+        }
+    }
+
+    /**
+     * Chien search: the error at degree d of the codeword is a root a^-d of the locator. The terms of the locator
+     * are updated from one degree to the next by a multiplication with a^-i.
+     *
+     * @return false unless there are as many roots as errors within the codeword
+     */
+    private static boolean findErrorPositions(int length, int errors, Workspace workspace) {
+        int[] locator = workspace.locator;
+        int[] termLogs = workspace.copy;
+        for (int i = 1; i <= errors; i++) {
+            termLogs[i] = locator[i] == 0 ? -1 : LOG[locator[i]];
+        }
+
+        int found = 0;
+        for (int degree = 0; degree < length && found < errors; degree++) {
+            int value = 1;
+            for (int i = 1; i <= errors; i++) {
+                if (termLogs[i] >= 0) {
+                    value ^= EXP[termLogs[i]];
+                    termLogs[i] = (termLogs[i] + FIELD_ORDER - i) % FIELD_ORDER;
+                }
+            }
+            if (value == 0) {
+                workspace.positions[found++] = degree;
+            }
+        }
+        return found == errors;
+    }
+
+    /**
+     * Omega(x) = S(x) Lambda(x) mod x^32
+     */
+    private static void computeErrorEvaluator(int errors, Workspace workspace) {
+        int[] evaluator = workspace.evaluator;
+        Arrays.fill(evaluator, 0);
+
+        for (int i = 0; i < PARITY_LENGTH; i++) {
+            for (int j = 0; j <= errors && i + j < PARITY_LENGTH; j++) {
+                evaluator[i + j] ^= multiply(workspace.syndromes[i], workspace.locator[j]);
+            }
+        }
+    }
+
+    /**
+     * Forney algorithm with the first generator root a^0: e = X Omega(X^-1) / Lambda'(X^-1) for X = a^degree
+     */
+    private static int errorValue(int degree, int errors, Workspace workspace) {
+        int inverseLog = (FIELD_ORDER - degree) % FIELD_ORDER;
+        int numerator = evaluate(workspace.evaluator, PARITY_LENGTH - 1, inverseLog);
+
+        // the formal derivative only keeps the odd powers
+        int denominator = 0;
+        for (int i = 1; i <= errors; i += 2) {
+            int coefficient = workspace.locator[i];
+            if (coefficient != 0) {
+                denominator ^= EXP[(LOG[coefficient] + inverseLog * (i - 1)) % FIELD_ORDER];
+            }
+        }
+
+        if (numerator == 0 || denominator == 0) {
+            return 0;
+        }
+        return EXP[(LOG[numerator] + degree + FIELD_ORDER - LOG[denominator]) % FIELD_ORDER];
+    }
+
+    /**
+     * @return the polynomial of the given degree, coefficient of x^0 first, at a^pointLog
+     */
+    private static int evaluate(int[] polynomial, int degree, int pointLog) {
+        int value = 0;
+        for (int i = 0; i <= degree; i++) {
+            if (polynomial[i] != 0) {
+                value ^= EXP[(LOG[polynomial[i]] + pointLog * i) % FIELD_ORDER];
+            }
+        }
+        return value;
+    }
+
+    private static int multiply(int a, int b) {
+        return a == 0 || b == 0 ? 0 : EXP[LOG[a] + LOG[b]];
+    }
+
+    /**
+     * g(x) = (x - a^0)(x - a^1)...(x - a^31)
+     */
+    private static int[] buildGeneratorLog() {
+        // coefficient of x^i at index i
+        int[] generator = new int[PARITY_LENGTH + 1];
+        generator[0] = 1;
+
+        for (int root = 0; root < PARITY_LENGTH; root++) {
+            for (int i = root + 1; i > 0; i--) {
+                generator[i] = generator[i - 1] ^ multiply(generator[i], EXP[root]);
+            }
+            generator[0] = multiply(generator[0], EXP[root]);
+        }
+
+        int[] generatorLog = new int[PARITY_LENGTH];
+        for (int j = 0; j < PARITY_LENGTH; j++) {
+            generatorLog[j] = LOG[generator[PARITY_LENGTH - 1 - j]];
+        }
+        return generatorLog;
+    }
+
+    /**
+     * Decoding state reused by every block decoded on a thread
+     */
+    private static final class Workspace {
+        final int[] syndromes = new int[PARITY_LENGTH];
+        final int[] locator = new int[PARITY_LENGTH + 1];
+        final int[] previous = new int[PARITY_LENGTH + 1];
+        final int[] copy = new int[PARITY_LENGTH + 1];
+        final int[] evaluator = new int[PARITY_LENGTH];
+        final int[] positions = new int[PARITY_LENGTH];
+    }
+}
@@ -0,0 +1,183 @@
+package correcter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Byte-level repetition of any odd amount of copies, for links too noisy for the Hamming codes. Every block of
+ * BLOCK signal bytes is sent that many times in a row, a shorter last block too, so a burst shorter than a block
+ * only reaches one copy of a byte. Unlike the symbol repetition it works on binary data, and the decoder takes
+ * the majority of every bit of the copies 64 bits at a time: (a & b) | (a & c) | (b & c) for three copies,
+ * a bit-sliced counter of the set bits for more.
+ */
+class RepetitionCodec implements Codec {
+
+    static final int BLOCK = 64;
+    static final int MAX_COPIES = 63;
+
+    private static final byte ID_BASE = 64;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    private final int copies;
+
+    /**
+     * Bits of the counter of set bits
+     */
+    private final int counterBits;
+
+    /**
+     * Initial counter value, it reaches 1 << counterBits - 1 with the majority of the copies
+     */
+    private final int bias;
+
+    /**
+     * @param copies odd, from 1 to MAX_COPIES
+     */
+    RepetitionCodec(int copies) {
+        if (copies < 1 || copies > MAX_COPIES || copies % 2 == 0) {
+            throw new IllegalArgumentException("The copies must be odd and between 1 and " + MAX_COPIES + ": "
+                    + copies);
+        }
+        this.copies = copies;
+        this.counterBits = Integer.SIZE - Integer.numberOfLeadingZeros(copies) + 1;
+        this.bias = (1 << counterBits - 1) - (copies / 2 + 1);
+    }
+
+    @Override
+    public String name() {
+        return "repetition-" + copies;
+    }
+
+    @Override
+    public byte id() {
+        return (byte) (ID_BASE + copies);
+    }
+
+    @Override
+    public int signalBlock() {
+        return BLOCK;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return BLOCK * copies;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return Math.multiplyExact(length, copies);
+    }
+
+    /**
+     * A trailing incomplete group of copies is not decoded
+     */
+    @Override
+    public int decodedLength(int encodedLength) {
+        return encodedLength / copies;
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        int encodedLength = encodedLength(length);
+        Objects.checkFromIndexSize(offset, length, signal.length);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int blockLength = Math.min(BLOCK, end - offset);
+            for (int copy = 0; copy < copies; copy++) {
+                System.arraycopy(signal, offset, encodedSignal, encodedOffset, blockLength);
+                encodedOffset += blockLength;
+            }
+            offset += blockLength;
+        }
+
+        return encodedLength;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        int signalLength = decodedLength(encodedLength);
+        Objects.checkFromIndexSize(encodedOffset, encodedLength, encodedSignal.length);
+        Objects.checkFromIndexSize(offset, signalLength, signal.length);
+
+        long[] counter = new long[counterBits];
+
+        for (int end = offset + signalLength; offset < end; ) {
+            int blockLength = Math.min(BLOCK, end - offset);
+
+            int i = 0;
+            for (; i + Long.BYTES <= blockLength; i += Long.BYTES) {
+                LONG_VIEW.set(signal, offset + i, majorityOfWords(encodedSignal, encodedOffset + i, blockLength,
+                        counter));
+            }
+            for (; i < blockLength; i++) {
+                signal[offset + i] = (byte) majorityOfBytes(encodedSignal, encodedOffset + i, blockLength, counter);
+            }
+
+            offset += blockLength;
+            encodedOffset += blockLength * copies;
+        }
+
+        return signalLength;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /**
+     * @param index  first copy of the word
+     * @param stride distance between the copies
+     */
+    private long majorityOfWords(byte[] encodedSignal, int index, int stride, long[] counter) {
+        if (copies == 1) {
+            return (long) LONG_VIEW.get(encodedSignal, index);
+        }
+        if (copies == 3) {
+            long a = (long) LONG_VIEW.get(encodedSignal, index);
+            long b = (long) LONG_VIEW.get(encodedSignal, index + stride);
+            long c = (long) LONG_VIEW.get(encodedSignal, index + 2 * stride);
+            return a & b | a & c | b & c;
+        }
+
+        resetCounter(counter);
+        for (int copy = 0; copy < copies; copy++, index += stride) {
+            count(counter, (long) LONG_VIEW.get(encodedSignal, index));
+        }
+        return counter[counterBits - 1];
+    }
+
+    private long majorityOfBytes(byte[] encodedSignal, int index, int stride, long[] counter) {
+        resetCounter(counter);
+        for (int copy = 0; copy < copies; copy++, index += stride) {
+            count(counter, encodedSignal[index]);
+        }
+        return counter[counterBits - 1];
+    }
+
+    /**
+     * Sets every bit position of the counter to the bias, counter[j] holding the bit j of all of them
+     */
+    private void resetCounter(long[] counter) {
+        for (int j = 0; j < counterBits; j++) {
+            counter[j] = (bias >>> j & 1) == 0 ? 0 : -1L;
+        }
+    }
+
+    /**
+     * Adds the bits of the word to the counter, a ripple carry addition over the bit planes
+     */
+    private static void count(long[] counter, long word) {
+        long carry = word;
+        for (int j = 0; j < counter.length && carry != 0; j++) {
+            long sum = counter[j] ^ carry;
+            carry &= counter[j];
+            counter[j] = sum;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package correcter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Symbol-level code of Encoder.encode(String) and Decoder.decode(String), every byte is sent
+ * INTERFERENCE_PERIOD times and the most repeated copy wins. The bytes go through ISO-8859-1,
+ * which maps each of them to the char of the same value.
+ */
+class SymbolRepetitionCodec implements Codec {
+
+    static final String NAME = "symbol-repetition";
+    static final byte ID = 3;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public int signalBlock() {
+        return 1;
+    }
+
+    @Override
+    public int encodedBlock() {
+        return InterferenceGenerator.INTERFERENCE_PERIOD;
+    }
+
+    @Override
+    public int encodedLength(int length) {
+        return Math.multiplyExact(length, InterferenceGenerator.INTERFERENCE_PERIOD);
+    }
+
+    /**
+     * A trailing incomplete group of copies is not decoded
+     */
+    @Override
+    public int decodedLength(int encodedLength) {
+        return encodedLength / InterferenceGenerator.INTERFERENCE_PERIOD;
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        Objects.checkFromIndexSize(encodedOffset, encodedLength(length), encodedSignal.length);
+
+        String encoded = Encoder.encode(new String(signal, offset, length, StandardCharsets.ISO_8859_1));
+        byte[] encodedBytes = encoded.getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(encodedBytes, 0, encodedSignal, encodedOffset, encodedBytes.length);
+        return encodedBytes.length;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int encodedLength, byte[] signal, int offset) {
+        int signalLength = decodedLength(encodedLength);
+        Objects.checkFromIndexSize(offset, signalLength, signal.length);
+
+        String decoded = Decoder.decode(new String(encodedSignal, encodedOffset, encodedLength(signalLength),
+                StandardCharsets.ISO_8859_1));
+        byte[] decodedBytes = decoded.getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(decodedBytes, 0, signal, offset, decodedBytes.length);
+        return decodedBytes.length;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+}
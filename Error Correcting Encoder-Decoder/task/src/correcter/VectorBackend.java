@@ -0,0 +1,41 @@
+package correcter;
+
+import java.util.Optional;
+
+/**
+ * SIMD implementation of the Hamming coders and of the interference. It is built from src17 with the
+ * JDK Vector API, so it is only there on JDK 17+ started with --add-modules jdk.incubator.vector.
+ * Every method handles the longest prefix of whole vectors and leaves the rest to the scalar code.
+ */
+interface VectorBackend {
+
+    String IMPLEMENTATION = "correcter.VectorCoders";
+
+    /**
+     * The backend, empty when the Vector API or the implementation is not available at runtime
+     */
+    Optional<VectorBackend> INSTANCE = load();
+
+    /**
+     * @return amount of signal bytes encoded, two encoded bytes are written for each of them
+     */
+    int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset);
+
+    /**
+     * @return amount of received pairs decoded, one signal byte is written for each of them
+     */
+    int decode(byte[] encodedSignal, int encodedOffset, int pairs, byte[] signal, int offset);
+
+    /**
+     * @return amount of bytes interfered
+     */
+    int interfere(byte[] signal, int offset, int length, byte[] interfered, int interferedOffset);
+
+    private static Optional<VectorBackend> load() {
+        try {
+            return Optional.of((VectorBackend) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package correcter;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of the Hamming coders and of the interference, loaded by VectorBackend.
+ * Received bytes are corrected lane by lane the same way as HammingDecoder.decodeWord, and nibbles are
+ * encoded by selecting from a vector holding the sixteen codewords.
+ */
+final class VectorCoders implements VectorBackend {
+
+    /**
+     * Encoded bytes and received bytes
+     */
+    private static final VectorSpecies<Byte> WIDE = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * Signal bytes, half the size of the encoded ones
+     */
+    private static final VectorSpecies<Byte> NARROW = VectorSpecies.of(byte.class,
+            VectorShape.forBitSize(WIDE.vectorBitSize() / 2));
+
+    private static final VectorSpecies<Short> PAIRS = VectorSpecies.of(short.class, WIDE.vectorShape());
+
+    private final ByteVector codewords;
+
+    VectorCoders() {
+        if (NARROW.length() < 16) {
+            throw new UnsupportedOperationException("Vectors of " + WIDE.vectorBitSize() + " bits are too narrow");
+        }
+
+        byte[] nibbles = new byte[NARROW.length()];
+        for (byte i = 0; i < 16; i++) {
+            nibbles[i] = i;
+        }
+        byte[] encoded = HammingEncoder.encodeBitwise(nibbles);
+
+        byte[] table = new byte[NARROW.length()];
+        for (int i = 0; i < 16; i++) {
+            table[i] = encoded[i * 2 + 1];
+        }
+        codewords = ByteVector.fromArray(NARROW, table, 0);
+    }
+
+    @Override
+    public int encode(byte[] signal, int offset, int length, byte[] encodedSignal, int encodedOffset) {
+        int encodedLength = NARROW.loopBound(length);
+
+        for (int i = 0; i < encodedLength; i += NARROW.length()) {
+            ByteVector bytes = ByteVector.fromArray(NARROW, signal, offset + i);
+            ByteVector first = bytes.lanewise(VectorOperators.LSHR, 4).selectFrom(codewords);
+            ByteVector second = bytes.and((byte) 0x0F).selectFrom(codewords);
+
+            // little endian lanes: the first codeword lands on the even byte
+            ShortVector pairs = ((ShortVector) first.convertShape(VectorOperators.B2S, PAIRS, 0))
+                    .and((short) 0xFF)
+                    .or(((ShortVector) second.convertShape(VectorOperators.B2S, PAIRS, 0))
+                            .lanewise(VectorOperators.LSHL, 8));
+            pairs.reinterpretAsBytes().intoArray(encodedSignal, encodedOffset + i * 2);
+        }
+
+        return encodedLength;
+    }
+
+    @Override
+    public int decode(byte[] encodedSignal, int encodedOffset, int pairs, byte[] signal, int offset) {
+        int decodedLength = NARROW.loopBound(pairs);
+
+        for (int i = 0; i < decodedLength; i += NARROW.length()) {
+            ByteVector received = ByteVector.fromArray(WIDE, encodedSignal, encodedOffset + i * 2);
+
+            ByteVector neighbours = received.lanewise(VectorOperators.XOR, received.lanewise(VectorOperators.LSHR, 1));
+            ByteVector check2 = neighbours.lanewise(VectorOperators.XOR, neighbours.lanewise(VectorOperators.LSHR, 4))
+                    .and((byte) 2);
+            ByteVector check4 = neighbours.lanewise(VectorOperators.XOR, neighbours.lanewise(VectorOperators.LSHR, 2))
+                    .and((byte) 2);
+
+            ByteVector fixed = received
+                    .lanewise(VectorOperators.XOR, check2.lanewise(VectorOperators.AND_NOT, check4)
+                            .lanewise(VectorOperators.LSHL, 4))
+                    .lanewise(VectorOperators.XOR, check4.lanewise(VectorOperators.AND_NOT, check2)
+                            .lanewise(VectorOperators.LSHL, 2))
+                    .lanewise(VectorOperators.XOR, check2.and(check4).lanewise(VectorOperators.LSHL, 1));
+
+            ByteVector nibbles = fixed.lanewise(VectorOperators.LSHR, 2).and((byte) 0x08)
+                    .or(fixed.lanewise(VectorOperators.LSHR, 1).and((byte) 0x07));
+
+            // little endian lanes: the first nibble of every pair is the low byte of its short
+            ShortVector joined = nibbles.reinterpretAsShorts();
+            joined = joined.lanewise(VectorOperators.LSHL, 4).or(joined.lanewise(VectorOperators.LSHR, 8));
+            ((ByteVector) joined.convertShape(VectorOperators.S2B, NARROW, 0)).intoArray(signal, offset + i);
+        }
+
+        return decodedLength;
+    }
+
+    @Override
+    public int interfere(byte[] signal, int offset, int length, byte[] interfered, int interferedOffset) {
+        int interferedLength = WIDE.loopBound(length);
+
+        for (int i = 0; i < interferedLength; i += WIDE.length()) {
+            ByteVector.fromArray(WIDE, signal, offset + i)
+                    .lanewise(VectorOperators.XOR, (byte) (1 << InterferenceGenerator.INTERFERENCE_PERIOD))
+                    .intoArray(interfered, interferedOffset + i);
+        }
+
+        return interferedLength;
+    }
+}
@@ -0,0 +1,152 @@
+package correcter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchProcessorTest {
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("batch-processor");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void filesRoundTrip() throws IOException {
+        roundTrip(new String[]{"--codec=secded"});
+    }
+
+    @Test
+    public void framedFilesRoundTrip() throws IOException {
+        roundTrip(new String[]{"--codec=secded", "--framed"});
+    }
+
+    @Test
+    public void manifestListsFilesRelativeToIt() throws IOException {
+        Files.createDirectory(directory.resolve("inputs"));
+        Files.write(directory.resolve("manifest.txt"),
+                "inputs/b.txt\n\n  inputs/a.txt\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList(directory.resolve("inputs/b.txt"), directory.resolve("inputs/a.txt")),
+                BatchProcessor.listInputs(directory.resolve("manifest.txt")));
+    }
+
+    @Test
+    public void failedFilesAreReported() throws IOException {
+        Files.write(directory.resolve("present.txt"), new byte[]{1, 2, 3});
+        List<Path> inputs = Arrays.asList(directory.resolve("missing.txt"), directory.resolve("present.txt"));
+        ByteArrayOutputStream progress = new ByteArrayOutputStream();
+
+        BatchProcessor.Report report = new BatchProcessor(Main.fromArguments(new String[0]), 1, 1)
+                .process(Mode.ENCODE, directory, inputs, directory.resolve("out"), new PrintStream(progress, true));
+
+        assertFalse(report.isComplete());
+        assertEquals(Arrays.asList(directory.resolve("missing.txt")), report.failed());
+        assertEquals(3, report.inputBytes());
+        assertTrue(Files.exists(directory.resolve("out/present.txt")));
+        assertTrue(progress.toString().contains("failed"));
+    }
+
+    @Test
+    public void manifestFilesKeepTheirDirectoriesInTheOutput() throws IOException {
+        Files.createDirectories(directory.resolve("a"));
+        Files.createDirectories(directory.resolve("b"));
+        Files.write(directory.resolve("a/x.txt"), new byte[]{1, 2, 3});
+        Files.write(directory.resolve("b/x.txt"), new byte[]{4, 5});
+        Path manifest = Files.write(directory.resolve("manifest.txt"),
+                "a/x.txt\nb/x.txt\na/x.txt\n".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream progress = new ByteArrayOutputStream();
+
+        BatchProcessor.Report report = new BatchProcessor(Main.fromArguments(new String[0]), 2, 2)
+                .process(Mode.ENCODE, BatchProcessor.baseOf(manifest), BatchProcessor.listInputs(manifest),
+                        directory.resolve("out"), new PrintStream(progress, true));
+
+        assertEquals(Arrays.asList(directory.resolve("a/x.txt")), report.failed());
+        assertTrue(progress.toString().contains("same output path"));
+        assertArrayEquals(HammingEncoder.encode(new byte[]{1, 2, 3}),
+                Files.readAllBytes(directory.resolve("out/a/x.txt")));
+        assertArrayEquals(HammingEncoder.encode(new byte[]{4, 5}),
+                Files.readAllBytes(directory.resolve("out/b/x.txt")));
+    }
+
+    @Test
+    public void corruptedFramedFilesFail() throws IOException {
+        Path sent = Files.createDirectory(directory.resolve("sent"));
+        byte[] signal = new byte[5000];
+        new Random(22).nextBytes(signal);
+        Files.write(sent.resolve("signal.txt"), signal);
+        BatchProcessor processor = new BatchProcessor(Main.fromArguments(new String[]{"--framed"}), 1, 1);
+        PrintStream progress = new PrintStream(new ByteArrayOutputStream(), true);
+
+        Path encoded = directory.resolve("encoded");
+        assertTrue(processor.process(Mode.ENCODE, sent, BatchProcessor.listInputs(sent), encoded, progress)
+                .isComplete());
+        byte[] received = Files.readAllBytes(encoded.resolve("signal.txt"));
+        for (int i = FramedContainer.ENCODED_HEADER_LENGTH; i < received.length; i += 97) {
+            received[i] ^= (byte) 0xFF;
+        }
+        Files.write(encoded.resolve("signal.txt"), received);
+
+        BatchProcessor.Report report = processor.process(Mode.DECODE, encoded, BatchProcessor.listInputs(encoded),
+                directory.resolve("decoded"), progress);
+
+        assertFalse(report.isComplete());
+        assertEquals(Arrays.asList(encoded.resolve("signal.txt")), report.failed());
+    }
+
+    private void roundTrip(String[] args) throws IOException {
+        Path sent = Files.createDirectory(directory.resolve("sent"));
+        int files = 30;
+        byte[][] signals = new byte[files][];
+        Random random = new Random(22);
+        for (int i = 0; i < files; i++) {
+            signals[i] = new byte[random.nextInt(20000)];
+            random.nextBytes(signals[i]);
+            Files.write(sent.resolve(i + ".txt"), signals[i]);
+        }
+
+        BatchProcessor processor = new BatchProcessor(Main.fromArguments(args), 3, 2);
+        PrintStream progress = new PrintStream(new ByteArrayOutputStream(), true);
+        Path from = sent;
+        for (Mode mode : Mode.values()) {
+            Path to = directory.resolve(mode.name());
+            BatchProcessor.Report report = processor.process(mode, from, BatchProcessor.listInputs(from), to,
+                    progress);
+            assertTrue(mode + " " + report, report.isComplete());
+            assertEquals(files, report.files());
+            from = to;
+        }
+
+        for (int i = 0; i < files; i++) {
+            assertArrayEquals("file " + i, signals[i], Files.readAllBytes(from.resolve(i + ".txt")));
+        }
+    }
+}
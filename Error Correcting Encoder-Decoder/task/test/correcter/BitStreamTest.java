@@ -0,0 +1,86 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BitStreamTest {
+
+    @Test
+    public void readsWhatIsWritten() {
+        Random random = new Random(20);
+        int[] lengths = new int[2000];
+        long[] values = new long[lengths.length];
+        long bits = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = 1 + random.nextInt(Long.SIZE);
+            values[i] = random.nextLong() >>> (Long.SIZE - lengths[i]);
+            bits += lengths[i];
+        }
+
+        byte[] stream = new byte[(int) ((bits + Byte.SIZE - 1) / Byte.SIZE) + 2];
+        BitStream.Writer writer = new BitStream.Writer(stream, 1, stream.length - 2);
+        for (int i = 0; i < lengths.length; i++) {
+            writer.write(values[i], lengths[i]);
+        }
+        assertEquals(stream.length - 1, writer.flush());
+
+        BitStream.Reader reader = new BitStream.Reader(stream, 1, stream.length - 2);
+        for (int i = 0; i < lengths.length; i++) {
+            assertEquals("value " + i, values[i], reader.read(lengths[i]));
+        }
+        assertEquals(0, stream[0]);
+        assertEquals(0, stream[stream.length - 1]);
+    }
+
+    @Test
+    public void bitsAreSentFromTheHighestOne() {
+        byte[] stream = new byte[2];
+        BitStream.Writer writer = new BitStream.Writer(stream, 0, stream.length);
+        writer.write(0b101, 3);
+        writer.write(0b1, 1);
+        writer.write(0b11, 2);
+        writer.flush();
+
+        assertArrayEquals(new byte[]{(byte) 0b1011_1100, 0}, stream);
+    }
+
+    @Test
+    public void bitsPastTheRangeAreDroppedOrReadAsZero() {
+        byte[] stream = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        BitStream.Writer writer = new BitStream.Writer(stream, 0, 1);
+        writer.write(0x3FF, 10);
+        assertEquals(1, writer.flush());
+        assertEquals((byte) 0xFF, stream[1]);
+
+        BitStream.Reader reader = new BitStream.Reader(stream, 1, 1);
+        assertEquals(0x3FC, reader.read(10));
+        assertEquals(0, reader.read(Long.SIZE));
+
+        byte[] destination = new byte[24];
+        writer = new BitStream.Writer(destination, 4, 2);
+        writer.write(-1L, Long.SIZE);
+        writer.write(-1L, Long.SIZE);
+        writer.write(0x7F, 7);
+        assertEquals(6, writer.flush());
+        byte[] expected = new byte[destination.length];
+        expected[4] = (byte) 0xFF;
+        expected[5] = (byte) 0xFF;
+        assertArrayEquals(expected, destination);
+    }
+
+    @Test
+    public void bitLevelCodecKeepsTheHighBytes() {
+        byte[] signal = HammingTableTest.allBytes();
+        for (int length = 0; length <= signal.length; length++) {
+            byte[] range = Arrays.copyOf(signal, length);
+            assertArrayEquals("length " + length, range, Decoder.decode(Encoder.encode(range)));
+        }
+        assertArrayEquals(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xF0},
+                Encoder.encode(new byte[]{(byte) 0xFF}));
+    }
+}
@@ -0,0 +1,73 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BitTableTest {
+
+    @Test
+    public void decodeMatchesBitwiseForEveryByteAtEveryPositionOfABlock() {
+        byte[] allBytes = HammingTableTest.allBytes();
+
+        for (int shift = 0; shift < Long.BYTES; shift++) {
+            byte[] encodedSignal = new byte[allBytes.length + shift];
+            System.arraycopy(allBytes, 0, encodedSignal, shift, allBytes.length);
+
+            assertArrayEquals("shift " + shift, Decoder.decodeBitwise(encodedSignal), Decoder.decode(encodedSignal));
+        }
+    }
+
+    @Test
+    public void decodeMatchesBitwiseForEveryLength() {
+        byte[] encodedSignal = new byte[200];
+        new Random(25).nextBytes(encodedSignal);
+
+        for (int length = 0; length <= encodedSignal.length; length++) {
+            byte[] prefix = Arrays.copyOf(encodedSignal, length);
+            assertArrayEquals("length " + length, Decoder.decodeBitwise(prefix), Decoder.decode(prefix));
+        }
+    }
+
+    @Test
+    public void decodeLeavesTheDestinationAroundTheRangeAlone() {
+        byte[] encodedSignal = new byte[203];
+        new Random(25).nextBytes(encodedSignal);
+        byte[] expected = Decoder.decodeBitwise(Arrays.copyOfRange(encodedSignal, 3, encodedSignal.length));
+
+        byte[] decodedSignal = new byte[expected.length + 10];
+        Arrays.fill(decodedSignal, (byte) 0x5A);
+        assertEquals(expected.length, Decoder.decode(encodedSignal, 3, encodedSignal.length - 3, decodedSignal, 5));
+
+        assertArrayEquals(expected, Arrays.copyOfRange(decodedSignal, 5, 5 + expected.length));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0x5A, decodedSignal[i]);
+            assertEquals(0x5A, decodedSignal[decodedSignal.length - 1 - i]);
+        }
+    }
+
+    @Test
+    public void errorFlagIsSetForEveryByteWithDifferentDuples() {
+        for (int i = 0; i < 256; i++) {
+            boolean differentDuples = ((i ^ i >>> 1) & 0b0101_0100) != 0;
+            assertEquals("byte " + i, differentDuples, Decoder.isErrorDetected((byte) i));
+            assertEquals("byte " + i, differentDuples,
+                    (Decoder.bitsDecoderBitwise((byte) i) & Decoder.ERROR_DETECTED) != 0);
+        }
+    }
+
+    @Test
+    public void interferedSignalIsCorrected() {
+        byte[] signal = new byte[10_000];
+        new Random(25).nextBytes(signal);
+
+        byte[] received = InterferenceGenerator.interfere(Encoder.encode(signal));
+
+        assertArrayEquals(signal, Decoder.decode(received));
+        assertArrayEquals(Decoder.decodeBitwise(received), Decoder.decode(received));
+    }
+}
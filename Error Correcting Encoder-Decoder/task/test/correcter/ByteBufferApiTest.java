@@ -0,0 +1,99 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ByteBufferApiTest {
+
+    private static final int MARGIN = 3;
+
+    @Test
+    public void hammingMatchesArrays() {
+        assertMatchesArrays(HammingEncoder::encode, HammingEncoder::encode);
+        assertMatchesArrays(HammingDecoder::decode, HammingDecoder::decode);
+    }
+
+    @Test
+    public void bitLevelMatchesArrays() {
+        assertMatchesArrays(Encoder::encode, Encoder::encode);
+        assertMatchesArrays(Decoder::decode, Decoder::decode);
+    }
+
+    @Test
+    public void hammingLeavesTrailingOddByte() {
+        for (boolean direct : new boolean[]{false, true}) {
+            ByteBuffer encodedSignal = buffer(new byte[]{1, 2, 3}, direct);
+            ByteBuffer signal = allocate(1, direct);
+
+            assertEquals(1, HammingDecoder.decode(encodedSignal, signal));
+            assertEquals(1, encodedSignal.remaining());
+        }
+    }
+
+    @Test
+    public void shortDestinationIsRejectedBeforeReading() {
+        ByteBuffer signal = ByteBuffer.allocateDirect(4);
+        try {
+            Encoder.encode(signal, ByteBuffer.allocateDirect(Encoder.encodedLength(4) - 1));
+            fail("The destination is too short");
+        } catch (BufferOverflowException e) {
+            assertEquals(0, signal.position());
+        }
+    }
+
+    private static void assertMatchesArrays(Function<byte[], byte[]> arrays,
+                                            BiFunction<ByteBuffer, ByteBuffer, Integer> buffers) {
+        Random random = new Random(7);
+
+        for (int length = 0; length < 40; length++) {
+            byte[] source = new byte[length];
+            random.nextBytes(source);
+            byte[] expected = arrays.apply(source);
+
+            for (boolean direct : new boolean[]{false, true}) {
+                ByteBuffer input = buffer(source, direct);
+                ByteBuffer output = allocate(expected.length, direct);
+
+                assertEquals(expected.length, (int) buffers.apply(input, output));
+                assertEquals(MARGIN + expected.length, output.position());
+
+                byte[] actual = new byte[expected.length];
+                output.position(MARGIN);
+                output.get(actual);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    /**
+     * Wraps the content between a margin on each side, the position and the limit frame the content
+     */
+    private static ByteBuffer buffer(byte[] content, boolean direct) {
+        ByteBuffer buffer = direct
+                ? ByteBuffer.allocateDirect(content.length + MARGIN * 2)
+                : ByteBuffer.allocate(content.length + MARGIN * 2);
+        buffer.position(MARGIN);
+        buffer.put(content);
+        buffer.flip();
+        buffer.position(MARGIN);
+        return buffer;
+    }
+
+    private static ByteBuffer allocate(int length, boolean direct) {
+        ByteBuffer buffer = direct
+                ? ByteBuffer.allocateDirect(length + MARGIN * 2)
+                : ByteBuffer.allocate(length + MARGIN * 2);
+        buffer.position(MARGIN);
+        buffer.limit(MARGIN + length);
+        return buffer;
+    }
+}
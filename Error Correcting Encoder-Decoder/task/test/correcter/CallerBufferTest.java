@@ -0,0 +1,85 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CallerBufferTest {
+
+    private static final int OFFSET = 5;
+
+    @Test
+    public void lengthsMatchTheAllocatingMethods() {
+        for (int length = 0; length < 64; length++) {
+            byte[] signal = new byte[length];
+
+            assertEquals(HammingEncoder.encode(signal).length, HammingEncoder.encodedLength(length));
+            assertEquals(HammingDecoder.decode(signal).length, HammingDecoder.decodedLength(length));
+            assertEquals(Encoder.encode(signal).length, Encoder.encodedLength(length));
+            assertEquals(Decoder.decode(signal).length, Decoder.decodedLength(length));
+        }
+    }
+
+    @Test
+    public void lengthsDoNotOverflowForLargeSignals() {
+        assertEquals(715_827_883, Encoder.encodedLength(268_435_456));
+        assertEquals(805_306_365, Decoder.decodedLength(Integer.MAX_VALUE - 7));
+    }
+
+    @Test
+    public void hammingWritesIntoTheGivenRange() {
+        byte[] signal = randomSignal(101);
+
+        byte[] encodedSignal = new byte[OFFSET + HammingEncoder.encodedLength(signal.length - OFFSET)];
+        int written = HammingEncoder.encode(signal, OFFSET, signal.length - OFFSET, encodedSignal, OFFSET);
+        assertEquals(HammingEncoder.encodedLength(signal.length - OFFSET), written);
+        assertArrayEquals(HammingEncoder.encode(Arrays.copyOfRange(signal, OFFSET, signal.length)),
+                Arrays.copyOfRange(encodedSignal, OFFSET, encodedSignal.length));
+
+        byte[] decodedSignal = new byte[OFFSET + HammingDecoder.decodedLength(written)];
+        assertEquals(signal.length - OFFSET, HammingDecoder.decode(encodedSignal, OFFSET, written, decodedSignal, OFFSET));
+        assertArrayEquals(Arrays.copyOfRange(signal, OFFSET, signal.length),
+                Arrays.copyOfRange(decodedSignal, OFFSET, decodedSignal.length));
+    }
+
+    @Test
+    public void bitLevelWritesIntoTheGivenRange() {
+        byte[] signal = randomSignal(101);
+
+        byte[] encodedSignal = new byte[OFFSET + Encoder.encodedLength(signal.length - OFFSET)];
+        int written = Encoder.encode(signal, OFFSET, signal.length - OFFSET, encodedSignal, OFFSET);
+        assertEquals(Encoder.encodedLength(signal.length - OFFSET), written);
+        assertArrayEquals(Encoder.encode(Arrays.copyOfRange(signal, OFFSET, signal.length)),
+                Arrays.copyOfRange(encodedSignal, OFFSET, encodedSignal.length));
+
+        byte[] decodedSignal = new byte[OFFSET + Decoder.decodedLength(written)];
+        int decoded = Decoder.decode(encodedSignal, OFFSET, written, decodedSignal, OFFSET);
+        assertEquals(Decoder.decodedLength(written), decoded);
+        assertArrayEquals(Decoder.decode(Arrays.copyOfRange(encodedSignal, OFFSET, encodedSignal.length)),
+                Arrays.copyOfRange(decodedSignal, OFFSET, decodedSignal.length));
+    }
+
+    @Test
+    public void shortDestinationIsRejectedBeforeWriting() {
+        byte[] signal = randomSignal(10);
+        byte[] encodedSignal = new byte[HammingEncoder.encodedLength(signal.length) - 1];
+
+        try {
+            HammingEncoder.encode(signal, 0, signal.length, encodedSignal, 0);
+            fail("The destination is too short");
+        } catch (IndexOutOfBoundsException e) {
+            assertArrayEquals(new byte[encodedSignal.length], encodedSignal);
+        }
+    }
+
+    private static byte[] randomSignal(int length) {
+        byte[] signal = new byte[length];
+        new Random(length).nextBytes(signal);
+        return signal;
+    }
+}
@@ -0,0 +1,80 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CodecRegistryTest {
+
+    private static final byte[] SIGNAL = "better call Saul 555-00-73!".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void builtInCodecsAreRegistered() {
+        assertTrue(CodecRegistry.names().contains(HammingCodec.NAME));
+        assertTrue(CodecRegistry.names().contains(BitRepetitionCodec.NAME));
+        assertTrue(CodecRegistry.names().contains(SymbolRepetitionCodec.NAME));
+        assertEquals(HammingCodec.NAME, CodecRegistry.DEFAULT_CODEC);
+    }
+
+    @Test
+    public void everyCodecIsFoundByNameAndId() {
+        for (String name : CodecRegistry.names()) {
+            Codec codec = CodecRegistry.forName(name);
+            assertSame(codec, CodecRegistry.forId(codec.id()));
+        }
+    }
+
+    @Test
+    public void everyCodecRoundTrips() {
+        for (String name : CodecRegistry.names()) {
+            Codec codec = CodecRegistry.forName(name);
+            byte[] encodedSignal = codec.encode(SIGNAL);
+
+            assertEquals(codec.encodedLength(SIGNAL.length), encodedSignal.length);
+            assertArrayEquals(name, SIGNAL, codec.decode(encodedSignal));
+        }
+    }
+
+    @Test
+    public void codecsMatchTheStaticCoders() {
+        assertArrayEquals(HammingEncoder.encode(SIGNAL), CodecRegistry.forName(HammingCodec.NAME).encode(SIGNAL));
+        assertArrayEquals(Encoder.encode(SIGNAL), CodecRegistry.forName(BitRepetitionCodec.NAME).encode(SIGNAL));
+
+        String text = new String(SIGNAL, StandardCharsets.US_ASCII);
+        assertArrayEquals(Encoder.encode(text).getBytes(StandardCharsets.US_ASCII),
+                CodecRegistry.forName(SymbolRepetitionCodec.NAME).encode(SIGNAL));
+    }
+
+    @Test
+    public void codeRatesFollowTheBlocks() {
+        assertEquals(0.5, CodecRegistry.forName(HammingCodec.NAME).codeRate(), 0);
+        assertEquals(3.0 / 8, CodecRegistry.forName(BitRepetitionCodec.NAME).codeRate(), 0);
+        assertEquals(1.0 / 3, CodecRegistry.forName(SymbolRepetitionCodec.NAME).codeRate(), 0);
+    }
+
+    @Test
+    public void takenNameIsRejected() {
+        try {
+            CodecRegistry.register(new HammingCodec());
+            fail("The name is already registered");
+        } catch (IllegalArgumentException e) {
+            assertSame(HammingCodec.class, CodecRegistry.forName(HammingCodec.NAME).getClass());
+        }
+    }
+
+    @Test
+    public void unknownNameIsRejected() {
+        try {
+            CodecRegistry.forName("unknown");
+            fail("There is no such codec");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(HammingCodec.NAME));
+        }
+    }
+}
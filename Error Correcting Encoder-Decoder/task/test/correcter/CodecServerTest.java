@@ -0,0 +1,225 @@
+package correcter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CodecServerTest {
+
+    private Path directory;
+    private CodecServer server;
+
+    @Before
+    public void start() throws IOException {
+        directory = Files.createTempDirectory("codec-server");
+        server = new CodecServer(Main.fromArguments(new String[]{"--codec=secded"}), 0, 2, directory);
+        Thread thread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @After
+    public void stop() throws IOException {
+        server.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void batchedJobsRunInOrder() throws IOException {
+        int files = 20;
+        byte[][] signals = new byte[files][];
+        StringBuilder jobs = new StringBuilder();
+        Random random = new Random(21);
+        for (int i = 0; i < files; i++) {
+            signals[i] = new byte[random.nextInt(5000)];
+            random.nextBytes(signals[i]);
+            Files.write(directory.resolve(i + ".txt"), signals[i]);
+
+            jobs.append(job("ENCODE", i + ".txt", i + ".enc"))
+                    .append(job("send", i + ".enc", i + ".rec"))
+                    .append(job("DECODE", i + ".rec", i + ".dec"));
+        }
+
+        try (Socket socket = connect();
+             BufferedReader replies = replies(socket)) {
+            OutputStream requests = socket.getOutputStream();
+            requests.write(jobs.append(CodecServer.QUIT).append('\n').toString().getBytes(StandardCharsets.UTF_8));
+            requests.flush();
+
+            for (int i = 0; i < files * 3; i++) {
+                assertEquals("job " + i, CodecServer.OK, replies.readLine());
+            }
+            assertNull(replies.readLine());
+        }
+
+        for (int i = 0; i < files; i++) {
+            assertArrayEquals("file " + i, signals[i], Files.readAllBytes(directory.resolve(i + ".dec")));
+        }
+    }
+
+    @Test
+    public void failedJobsAreReported() throws IOException {
+        Files.write(directory.resolve("a"), new byte[]{1, 2, 3});
+        try (Socket socket = connect();
+             BufferedReader replies = replies(socket)) {
+            OutputStream requests = socket.getOutputStream();
+            requests.write((job("DECODE", "missing.txt", "out.txt")
+                    + "ENCODE " + file("a") + " " + file("b") + "\n"
+                    + job("ENCODE", "a", "b")).getBytes(StandardCharsets.UTF_8));
+            requests.flush();
+
+            assertTrue(replies.readLine().startsWith(CodecServer.ERROR));
+            assertTrue(replies.readLine().contains("MODE input output"));
+            assertNull(replies.readLine());
+        }
+        assertFalse(Files.exists(directory.resolve("b")));
+
+        assertTrue(server.runBatch(List.of(job("TRANSMIT", "a", "b").trim(), "ENCODE")).stream()
+                .allMatch(reply -> reply.contains("MODE input output")));
+    }
+
+    @Test
+    public void connectionsWithoutTheTokenAreClosed() throws IOException {
+        Files.write(directory.resolve("a"), new byte[]{1, 2, 3});
+        for (String first : new String[]{"", "0123456789abcdef", "POST / HTTP/1.1"}) {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+                 BufferedReader replies = replies(socket)) {
+                OutputStream requests = socket.getOutputStream();
+                requests.write((first + "\n" + job("ENCODE", "a", "b")).getBytes(StandardCharsets.UTF_8));
+                requests.flush();
+
+                assertTrue(first, replies.readLine().contains("token"));
+                assertNull(first, replies.readLine());
+            }
+        }
+        assertFalse(Files.exists(directory.resolve("b")));
+    }
+
+    @Test
+    public void requestsThatAreNotJobsCloseTheConnection() throws IOException {
+        Files.write(directory.resolve("a"), new byte[]{1, 2, 3});
+        try (Socket socket = connect();
+             BufferedReader replies = replies(socket)) {
+            OutputStream requests = socket.getOutputStream();
+            // a browser posting a text/plain form to the port
+            requests.write(("POST / HTTP/1.1\nHost: 127.0.0.1\nContent-Type: text/plain\n\n"
+                    + job("ENCODE", "a", "b")).getBytes(StandardCharsets.UTF_8));
+            requests.flush();
+
+            assertTrue(replies.readLine().contains("POST"));
+            assertNull(replies.readLine());
+        }
+        assertFalse(Files.exists(directory.resolve("b")));
+    }
+
+    @Test
+    public void pathsAreConfinedToTheRoot() throws IOException {
+        Path outside = Files.createTempFile("codec-server", ".txt");
+        try {
+            Files.write(directory.resolve("a"), new byte[]{1, 2, 3});
+
+            List<String> replies = server.runBatch(List.of(
+                    "ENCODE" + CodecServer.SEPARATOR + "a" + CodecServer.SEPARATOR + outside,
+                    "ENCODE" + CodecServer.SEPARATOR + "../" + outside.getFileName() + CodecServer.SEPARATOR + "b",
+                    "ENCODE" + CodecServer.SEPARATOR + "a" + CodecServer.SEPARATOR + "b"));
+
+            assertTrue(replies.get(0).contains("out of the root directory"));
+            assertTrue(replies.get(1).contains("out of the root directory"));
+            assertEquals(CodecServer.OK, replies.get(2));
+            assertEquals(0, Files.size(outside));
+        } finally {
+            Files.delete(outside);
+        }
+    }
+
+    @Test
+    public void tokenIsReadableByTheServerUserOnly() throws IOException {
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(server.tokenFile())));
+        server.close();
+        assertFalse(Files.exists(server.tokenFile()));
+    }
+
+    @Test
+    public void pathsMayHoldSpaces() throws IOException {
+        Files.createDirectory(directory.resolve("Error Correcting"));
+        byte[] signal = new byte[1000];
+        new Random(21).nextBytes(signal);
+        Files.write(directory.resolve("Error Correcting/send file.txt"), signal);
+
+        List<String> replies = server.runBatch(List.of(
+                job("ENCODE", "Error Correcting/send file.txt", "Error Correcting/encoded file.txt").trim(),
+                job("DECODE", "Error Correcting/encoded file.txt", "Error Correcting/decoded file.txt").trim()));
+
+        assertEquals(List.of(CodecServer.OK, CodecServer.OK), replies);
+        assertArrayEquals(signal, Files.readAllBytes(directory.resolve("Error Correcting/decoded file.txt")));
+    }
+
+    @Test
+    public void everyJobOfABatchGetsItsOwnReply() throws IOException {
+        try (CodecServer failing = new CodecServer(0, 1, directory, (mode, input, output) -> {
+            if (input.endsWith("broken")) {
+                throw new IllegalStateException("broken job");
+            }
+        })) {
+            List<String> replies = failing.runBatch(List.of("ENCODE\tfine\tout", "ENCODE\tbroken\tout",
+                    "DECODE\tfine\tout"));
+
+            assertEquals(CodecServer.OK, replies.get(0));
+            assertTrue(replies.get(1).startsWith(CodecServer.ERROR + " java.lang.IllegalStateException"));
+            assertEquals(CodecServer.OK, replies.get(2));
+        }
+    }
+
+    private String job(String mode, String input, String output) {
+        return mode + CodecServer.SEPARATOR + file(input) + CodecServer.SEPARATOR + file(output) + '\n';
+    }
+
+    private String file(String name) {
+        return directory.resolve(name).toString();
+    }
+
+    /**
+     * @return connection that already sent the token
+     */
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+        socket.getOutputStream().write(Files.readAllBytes(server.tokenFile()));
+        socket.getOutputStream().write('\n');
+        return socket;
+    }
+
+    private static BufferedReader replies(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CodecStageTest {
+
+    @Test
+    public void hammingChainCorrectsTheChannel() throws Exception {
+        BufferPool pool = new BufferPool(1000, 64);
+        byte[] signal = signal(100_001);
+
+        assertArrayEquals(signal, run(signal, 777, pool, CodecStage.hammingEncoding(pool),
+                CodecStage.interference(pool), CodecStage.hammingDecoding(pool)));
+    }
+
+    @Test
+    public void bitChainCorrectsTheChannel() throws Exception {
+        BufferPool pool = new BufferPool(1000, 64);
+        byte[] signal = signal(100_001);
+
+        assertArrayEquals(signal, run(signal, 500, pool, CodecStage.bitEncoding(pool),
+                CodecStage.interference(pool), CodecStage.bitDecoding(pool)));
+    }
+
+    @Test
+    public void stagesMatchTheStaticMethods() throws Exception {
+        BufferPool pool = new BufferPool(64, 64);
+        for (int length : new int[]{0, 1, 2, 3, 7, 8, 9, 64, 65, 1001}) {
+            byte[] signal = signal(length);
+            for (int chunk : new int[]{1, 3, 5, 64}) {
+                assertArrayEquals(Encoder.encode(signal), run(signal, chunk, pool, CodecStage.bitEncoding(pool)));
+                assertArrayEquals(Decoder.decode(signal), run(signal, chunk, pool, CodecStage.bitDecoding(pool)));
+                assertArrayEquals(HammingEncoder.encode(signal),
+                        run(signal, chunk, pool, CodecStage.hammingEncoding(pool)));
+                assertArrayEquals(HammingDecoder.decode(signal),
+                        run(signal, chunk, pool, CodecStage.hammingDecoding(pool)));
+            }
+        }
+    }
+
+    @Test
+    public void codecStagesRoundTrip() throws Exception {
+        BufferPool pool = new BufferPool(4096, 64);
+        byte[] signal = signal(50_000);
+        for (String name : new String[]{"secded", "rs-255-223", "hamming-63-57"}) {
+            Codec codec = CodecRegistry.forName(name);
+            assertArrayEquals(name, signal, run(signal, 1234, pool, CodecStage.encoding(codec, pool),
+                    CodecStage.decoding(codec, pool)));
+        }
+    }
+
+    @Test
+    public void chunksAreReusedUnderBackpressure() throws Exception {
+        BufferPool pool = new BufferPool(256, 1024);
+        byte[] signal = signal(1_000_000);
+
+        assertArrayEquals(signal, run(signal, 256, pool, CodecStage.hammingEncoding(pool),
+                CodecStage.interference(pool), CodecStage.hammingDecoding(pool)));
+        assertTrue("allocated " + pool.allocated(), pool.allocated() < signal.length / 256 / 4);
+    }
+
+    @Test
+    public void failuresReachTheSink() throws Exception {
+        BufferPool pool = new BufferPool(64, 64);
+        CodecStage stage = new CodecStage(new ParallelEngine.BlockTransform(1, 1,
+                (source, offset, length, destination, destinationOffset) -> {
+                    throw new IllegalStateException("broken");
+                }), IntUnaryOperator.identity(), pool);
+
+        try {
+            run(signal(10), 10, pool, stage);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void buffersMustHoldAnOutputBlock() {
+        try {
+            CodecStage.bitEncoding(new BufferPool(4, 1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("8 bytes"));
+        }
+    }
+
+    /**
+     * Publishes the signal in chunks of the pool through the stages and collects the output of the last one
+     */
+    private static byte[] run(byte[] signal, int chunkSize, BufferPool pool, CodecStage... stages)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        SubmissionPublisher<ByteBuffer> source = new SubmissionPublisher<>();
+        Flow.Publisher<ByteBuffer> publisher = source;
+        for (CodecStage stage : stages) {
+            publisher.subscribe(stage);
+            publisher = stage;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CompletableFuture<Void> done = stages[stages.length - 1].consume(chunk -> {
+            output.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            pool.release(chunk);
+        });
+
+        for (int i = 0; i < signal.length; i += chunkSize) {
+            ByteBuffer chunk = pool.acquire();
+            chunk.put(signal, i, Math.min(chunkSize, signal.length - i)).flip();
+            source.submit(chunk);
+        }
+        source.close();
+
+        done.get(30, TimeUnit.SECONDS);
+        return output.toByteArray();
+    }
+
+    private static byte[] signal(int length) {
+        byte[] signal = new byte[length];
+        new Random(length).nextBytes(signal);
+        return signal;
+    }
+}
@@ -0,0 +1,160 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CodecStreamsTest {
+
+    private static final String[] CODECS = {"hamming", "bit-repetition", "secded", "rs-255-223", "hamming-15-11"};
+
+    @Test
+    public void streamsMatchTheCodecForAnyWriteAndReadSizes() throws IOException {
+        Random random = new Random(24);
+        for (String name : CODECS) {
+            Codec codec = CodecRegistry.forName(name);
+            for (int length : new int[]{0, 1, 2, 3, 5, 8, 255, 1000, 200_001}) {
+                byte[] signal = new byte[length];
+                random.nextBytes(signal);
+
+                byte[] encoded = encode(codec, signal, random);
+                assertArrayEquals(name + " " + length, codec.encode(signal), encoded);
+                assertArrayEquals(name + " " + length, signal, decode(codec, encoded, random));
+            }
+        }
+    }
+
+    @Test
+    public void oddReceivedLengthsDecodeLikeTheCodec() throws IOException {
+        Random random = new Random(24);
+        for (String name : CODECS) {
+            Codec codec = CodecRegistry.forName(name);
+            for (int length : new int[]{1, 7, 9, 301, 70_001}) {
+                byte[] received = new byte[length];
+                random.nextBytes(received);
+
+                assertArrayEquals(name + " " + length, codec.decode(received), decode(codec, received, random));
+            }
+        }
+    }
+
+    @Test
+    public void hammingStreamsCorrectTheInterference() throws IOException {
+        byte[] signal = new byte[100_001];
+        new Random(24).nextBytes(signal);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = new EncodingOutputStream(encoded)) {
+            out.write(signal);
+        }
+        byte[] received = InterferenceGenerator.interfere(encoded.toByteArray());
+
+        try (InputStream in = new DecodingInputStream(new ByteArrayInputStream(received))) {
+            assertArrayEquals(signal, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void channelsRoundTrip() throws IOException {
+        Codec codec = CodecRegistry.forName("bit-repetition");
+        byte[] signal = new byte[30_001];
+        new Random(24).nextBytes(signal);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = CodecChannels.encoding(Channels.newChannel(encoded), codec)) {
+            for (int i = 0; i < signal.length; i += 1000) {
+                ByteBuffer chunk = ByteBuffer.allocateDirect(Math.min(1000, signal.length - i));
+                chunk.put(signal, i, chunk.capacity()).flip();
+                channel.write(chunk);
+            }
+        }
+        assertArrayEquals(codec.encode(signal), encoded.toByteArray());
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (ReadableByteChannel channel = CodecChannels.decoding(
+                Channels.newChannel(new ByteArrayInputStream(encoded.toByteArray())), codec)) {
+            ByteBuffer chunk = ByteBuffer.allocate(777);
+            while (channel.read(chunk) >= 0) {
+                decoded.write(chunk.array(), 0, chunk.position());
+                chunk.clear();
+            }
+        }
+        assertArrayEquals(signal, decoded.toByteArray());
+    }
+
+    @Test
+    public void closedStreamRejectsWrites() throws IOException {
+        OutputStream out = new EncodingOutputStream(new ByteArrayOutputStream());
+        out.close();
+        out.close();
+        try {
+            out.write(1);
+            fail();
+        } catch (IOException e) {
+            assertEquals("Stream closed", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the signal in random amounts, sometimes byte by byte
+     */
+    private static byte[] encode(Codec codec, byte[] signal, Random random) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = new EncodingOutputStream(encoded, codec)) {
+            for (int i = 0; i < signal.length; ) {
+                int length = Math.min(random.nextInt(3000), signal.length - i);
+                if (length < 4) {
+                    for (int j = 0; j < length; j++) {
+                        out.write(signal[i + j]);
+                    }
+                } else {
+                    out.write(signal, i, length);
+                }
+                i += length;
+                if (random.nextInt(8) == 0) {
+                    out.flush();
+                }
+            }
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Reads from an underlying stream returning random amounts, into random amounts
+     */
+    private static byte[] decode(Codec codec, byte[] encoded, Random random) throws IOException {
+        InputStream trickle = new FilterInputStream(new ByteArrayInputStream(encoded)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(5000)));
+            }
+        };
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (InputStream in = new DecodingInputStream(trickle, codec)) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer, 0, 1 + random.nextInt(buffer.length))) >= 0) {
+                decoded.write(buffer, 0, read);
+                if (random.nextInt(16) == 0 && (read = in.read()) >= 0) {
+                    decoded.write(read);
+                }
+            }
+        }
+        return decoded.toByteArray();
+    }
+}
@@ -0,0 +1,231 @@
+package correcter;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CorrectionStatisticsTest {
+
+    private static final byte[] SIGNAL = "better call Saul 555-00-73!".getBytes(StandardCharsets.US_ASCII);
+
+    @After
+    public void disable() {
+        for (CorrectionStatistics statistics : new CorrectionStatistics[]{CorrectionStatistics.HAMMING,
+                CorrectionStatistics.BIT_REPETITION, CorrectionStatistics.SECDED}) {
+            statistics.setEnabled(false);
+            statistics.reset();
+        }
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertNull(CorrectionStatistics.HAMMING.batch());
+        HammingDecoder.decode(HammingEncoder.encode(SIGNAL));
+
+        assertEquals(0, CorrectionStatistics.HAMMING.getReceivedBytes());
+    }
+
+    @Test
+    public void hammingCountsEveryInterferedBit() {
+        CorrectionStatistics statistics = CorrectionStatistics.HAMMING;
+        statistics.setEnabled(true);
+        byte[] received = InterferenceGenerator.interfere(HammingEncoder.encode(SIGNAL));
+
+        assertArrayEquals(SIGNAL, HammingDecoder.decode(received));
+
+        long[] positions = new long[Coder.BYTE_BITS_AMOUNT];
+        positions[3] = received.length;
+        assertEquals(received.length, statistics.getReceivedBytes());
+        assertEquals(received.length, statistics.getCorrectedBits());
+        assertEquals(0, statistics.getUncorrectableBytes());
+        assertArrayEquals(positions, statistics.getErrorPositions());
+        assertEquals(1.0 / Coder.BYTE_BITS_AMOUNT, statistics.getCorrectedBitErrorRate(), 0);
+    }
+
+    @Test
+    public void hammingCountsUncorrectableBytes() {
+        CorrectionStatistics statistics = CorrectionStatistics.HAMMING;
+        statistics.setEnabled(true);
+        byte[] received = HammingEncoder.encode(SIGNAL);
+        received[0] ^= 0b1001;
+        received[5] ^= 0b1000;
+
+        HammingDecoder.decode(received);
+
+        assertEquals(1, statistics.getCorrectedBits());
+        assertEquals(1, statistics.getUncorrectableBytes());
+    }
+
+    @Test
+    public void miscorrectedBytesAreNotCountedAsCorrected() {
+        CorrectionStatistics statistics = CorrectionStatistics.HAMMING;
+        statistics.setEnabled(true);
+        byte[] received = HammingEncoder.encode(new byte[]{0x5A});
+        received[0] ^= 1 << 6;
+        received[1] ^= 1 << 4;
+
+        byte[] decoded = HammingDecoder.decode(received);
+
+        assertEquals((byte) 0xDE, decoded[0]);
+        assertEquals(0, statistics.getCorrectedBits());
+        assertEquals(2, statistics.getUncorrectableBytes());
+    }
+
+    @Test
+    public void hammingCountsMatchTheDecodedBytesForEveryFlippedBit() {
+        countsMatchTheDecodedBytesForEveryFlippedBit(CorrectionStatistics.HAMMING, HammingEncoder::encode,
+                HammingDecoder::decode);
+    }
+
+    @Test
+    public void secdedCountsMatchTheDecodedBytesForEveryFlippedBit() {
+        Codec codec = CodecRegistry.forName(ExtendedHammingCodec.NAME);
+        countsMatchTheDecodedBytesForEveryFlippedBit(CorrectionStatistics.SECDED, codec::encode, codec::decode);
+    }
+
+    @Test
+    public void bitRepetitionCountsMatchTheDecodedBytesForEveryFlippedBit() {
+        countsMatchTheDecodedBytesForEveryFlippedBit(CorrectionStatistics.BIT_REPETITION, Encoder::encode,
+                Decoder::decode);
+    }
+
+    /**
+     * Flips every bit of every encoded byte of the signals of every byte value, one at a time, and checks the
+     * byte is counted as corrected exactly when the decoded signal is right
+     */
+    private static void countsMatchTheDecodedBytesForEveryFlippedBit(CorrectionStatistics statistics,
+                                                                      UnaryOperator<byte[]> encoder,
+                                                                      UnaryOperator<byte[]> decoder) {
+        byte[] signal = HammingTableTest.allBytes();
+        byte[] encodedSignal = encoder.apply(signal);
+
+        for (int bit = 0; bit < Coder.BYTE_BITS_AMOUNT; bit++) {
+            for (int i = 0; i < encodedSignal.length; i++) {
+                byte[] received = encodedSignal.clone();
+                received[i] ^= 1 << bit;
+                statistics.reset();
+                statistics.setEnabled(true);
+                byte[] decoded = decoder.apply(received);
+                statistics.setEnabled(false);
+
+                String flip = statistics.codec() + " bit " + bit + " of byte " + i;
+                if (Arrays.equals(signal, decoded)) {
+                    assertEquals(flip, 1, statistics.getCorrectedBits());
+                    assertEquals(flip, 1, statistics.getErrorPositions()[bit]);
+                    assertEquals(flip, 0, statistics.getUncorrectableBytes());
+                } else {
+                    assertEquals(flip, 0, statistics.getCorrectedBits());
+                    assertEquals(flip, 1, statistics.getUncorrectableBytes());
+                }
+                assertEquals(flip, encodedSignal.length, statistics.getReceivedBytes());
+            }
+        }
+    }
+
+    @Test
+    public void directBuffersAreCounted() {
+        CorrectionStatistics statistics = CorrectionStatistics.HAMMING;
+        statistics.setEnabled(true);
+        byte[] received = InterferenceGenerator.interfere(HammingEncoder.encode(SIGNAL));
+        ByteBuffer encodedSignal = ByteBuffer.allocateDirect(received.length).put(received).flip();
+
+        HammingDecoder.decode(encodedSignal, ByteBuffer.allocateDirect(SIGNAL.length));
+
+        assertEquals(received.length, statistics.getCorrectedBits());
+    }
+
+    @Test
+    public void bitRepetitionCountsEveryInterferedBit() {
+        CorrectionStatistics statistics = CorrectionStatistics.BIT_REPETITION;
+        statistics.setEnabled(true);
+        byte[] encodedSignal = Encoder.encode(SIGNAL);
+
+        Decoder.decode(encodedSignal);
+        assertEquals(0, statistics.getCorrectedBits());
+
+        Decoder.decode(InterferenceGenerator.interfere(encodedSignal));
+        assertEquals(encodedSignal.length * 2L, statistics.getReceivedBytes());
+        assertEquals(encodedSignal.length, statistics.getCorrectedBits());
+        assertEquals(encodedSignal.length, statistics.getErrorPositions()[3]);
+    }
+
+    @Test
+    public void bitRepetitionCountingDecodesLikeTheTable() {
+        CorrectionStatistics statistics = CorrectionStatistics.BIT_REPETITION;
+        statistics.setEnabled(true);
+        byte[] encodedSignal = new byte[100];
+        new Random(25).nextBytes(encodedSignal);
+
+        long received = 0;
+        for (int length = 0; length <= encodedSignal.length; length++) {
+            byte[] prefix = Arrays.copyOf(encodedSignal, length);
+            assertArrayEquals("length " + length, Decoder.decodeBitwise(prefix), Decoder.decode(prefix));
+            received += length;
+        }
+        assertEquals(received, statistics.getReceivedBytes());
+    }
+
+    @Test
+    public void listenersGetEveryBatch() {
+        CorrectionStatistics statistics = CorrectionStatistics.HAMMING;
+        statistics.setEnabled(true);
+        List<Long> corrected = new ArrayList<>();
+        CorrectionStatistics.Listener listener = (codec, receivedBytes, correctedBits, uncorrectableBytes) ->
+                corrected.add(correctedBits);
+        statistics.addListener(listener);
+        try {
+            byte[] received = InterferenceGenerator.interfere(HammingEncoder.encode(SIGNAL));
+            HammingDecoder.decode(received, 0, 10, new byte[5], 0);
+            HammingDecoder.decode(received, 10, 4, new byte[2], 0);
+        } finally {
+            statistics.removeListener(listener);
+        }
+
+        assertEquals(List.of(10L, 4L), corrected);
+    }
+
+    @Test
+    public void codecsWithoutCountersRejectTheOption() {
+        Main.fromArguments(new String[]{"--stats", "--codec=secded"});
+        for (String codec : new String[]{"rs-255-223", "hamming-15-11", "symbol-repetition"}) {
+            try {
+                Main.fromArguments(new String[]{"--stats", "--codec=" + codec});
+                fail(codec);
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage().endsWith("not for " + codec));
+            }
+        }
+    }
+
+    @Test
+    public void statisticsAreReadThroughJmx() throws Exception {
+        CorrectionStatistics statistics = CorrectionStatistics.HAMMING;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = statistics.register();
+        try {
+            server.setAttribute(name, new Attribute("Enabled", true));
+            HammingDecoder.decode(InterferenceGenerator.interfere(HammingEncoder.encode(SIGNAL)));
+
+            assertEquals(SIGNAL.length * 2L, server.getAttribute(name, "CorrectedBits"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package correcter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ExtendedHammingCodecTest {
+
+    private final Codec codec = new ExtendedHammingCodec();
+
+    @Test
+    public void everyByteRoundTrips() {
+        byte[] signal = HammingTableTest.allBytes();
+
+        assertArrayEquals(signal, codec.decode(codec.encode(signal)));
+        assertSame(ExtendedHammingCodec.class, CodecRegistry.forName(ExtendedHammingCodec.NAME).getClass());
+    }
+
+    @Test
+    public void everySingleBitErrorIsCorrected() {
+        byte[] signal = HammingTableTest.allBytes();
+        byte[] encodedSignal = codec.encode(signal);
+
+        for (int bit = 0; bit < Coder.BYTE_BITS_AMOUNT; bit++) {
+            byte[] received = encodedSignal.clone();
+            for (int i = 0; i < received.length; i++) {
+                received[i] ^= 1 << bit;
+            }
+
+            byte[] decoded = new byte[signal.length];
+            assertEquals(0, ExtendedHammingCodec.decodeDetecting(received, 0, received.length, decoded, 0));
+            assertArrayEquals("bit " + bit, signal, decoded);
+        }
+    }
+
+    @Test
+    public void everyDoubleBitErrorIsDetected() {
+        byte[] signal = HammingTableTest.allBytes();
+        byte[] encodedSignal = codec.encode(signal);
+
+        for (int first = 0; first < Coder.BYTE_BITS_AMOUNT; first++) {
+            for (int second = first + 1; second < Coder.BYTE_BITS_AMOUNT; second++) {
+                byte[] received = encodedSignal.clone();
+                for (int i = 0; i < received.length; i += 2) {
+                    received[i] ^= 1 << first | 1 << second;
+                }
+
+                int doubleErrors = ExtendedHammingCodec.decodeDetecting(received, 0, received.length,
+                        new byte[signal.length], 0);
+                assertEquals("bits " + first + " and " + second, signal.length, doubleErrors);
+            }
+        }
+    }
+
+    @Test
+    public void hammingDecoderReadsTheExtendedCode() {
+        byte[] signal = HammingTableTest.allBytes();
+
+        assertArrayEquals(signal, HammingDecoder.decode(codec.encode(signal)));
+    }
+
+    @Test
+    public void doubleErrorsAreCountedAsUncorrectable() {
+        CorrectionStatistics statistics = CorrectionStatistics.SECDED;
+        statistics.setEnabled(true);
+        try {
+            byte[] received = codec.encode(HammingTableTest.allBytes());
+            received[0] ^= 0b11;
+            received[1] ^= 0b100;
+
+            codec.decode(received);
+
+            assertEquals(1, statistics.getCorrectedBits());
+            assertEquals(1, statistics.getUncorrectableBytes());
+        } finally {
+            statistics.setEnabled(false);
+            statistics.reset();
+        }
+    }
+}
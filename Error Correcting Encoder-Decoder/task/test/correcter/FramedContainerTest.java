@@ -0,0 +1,192 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FramedContainerTest {
+
+    private static final byte[] SIGNAL = String.join(" ", Collections.nCopies(40, "better call Saul 555-00-73!"))
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final int BLOCK_SIZE = 96;
+
+    private static byte[] write(FramedContainer container) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        container.write(new ByteArrayInputStream(SIGNAL), encoded);
+        return encoded.toByteArray();
+    }
+
+    private static FramedContainer.Report read(byte[] encoded, ByteArrayOutputStream signal) throws IOException {
+        FramedContainer container = FramedContainer.decodeHeader(encoded).orElseThrow(AssertionError::new);
+        InputStream input = new ByteArrayInputStream(encoded);
+        input.readNBytes(FramedContainer.ENCODED_HEADER_LENGTH);
+        return container.read(input, signal);
+    }
+
+    @Test
+    public void everyCodecRoundTripsThroughTheChannel() throws IOException {
+        for (String name : Arrays.asList(HammingCodec.NAME, BitRepetitionCodec.NAME)) {
+            Codec codec = CodecRegistry.forName(name);
+            FramedContainer container = new FramedContainer(codec, SIGNAL.length,
+                    FramedContainer.blockSizeFor(codec, BLOCK_SIZE));
+            byte[] encoded = write(container);
+            assertEquals(container.encodedLength(), encoded.length);
+
+            ByteArrayOutputStream signal = new ByteArrayOutputStream();
+            FramedContainer.Report report = read(InterferenceGenerator.interfere(encoded), signal);
+
+            assertTrue(name, report.isComplete());
+            assertArrayEquals(name, SIGNAL, signal.toByteArray());
+        }
+    }
+
+    @Test
+    public void headerSelectsTheCodec() throws IOException {
+        Codec codec = CodecRegistry.forName(BitRepetitionCodec.NAME);
+        byte[] encoded = write(new FramedContainer(codec, SIGNAL.length, 99));
+
+        FramedContainer container = FramedContainer.decodeHeader(InterferenceGenerator.interfere(encoded)).get();
+        assertSame(codec, container.codec());
+        assertEquals(SIGNAL.length, container.originalLength());
+        assertEquals(99, container.blockSize());
+    }
+
+    @Test
+    public void rawSignalIsNotAContainer() throws IOException {
+        assertEquals(Optional.empty(), FramedContainer.decodeHeader(HammingEncoder.encode(SIGNAL)));
+        assertEquals(Optional.empty(), FramedContainer.decodeHeader(new byte[3]));
+    }
+
+    @Test
+    public void miscorrectedHeaderIsRejected() throws IOException {
+        byte[] encodedHeader = new FramedContainer(CodecRegistry.forName(HammingCodec.NAME), SIGNAL.length,
+                BLOCK_SIZE).encodeHeader();
+        byte[] header = HammingDecoder.decode(encodedHeader);
+
+        int rejected = 0;
+        for (int i = 0; i < encodedHeader.length; i++) {
+            for (int bits = 0; bits < 0x100; bits++) {
+                if (Integer.bitCount(bits) != 2) {
+                    continue;
+                }
+                byte[] damaged = encodedHeader.clone();
+                damaged[i] ^= (byte) bits;
+                if (Arrays.equals(header, HammingDecoder.decode(damaged))) {
+                    continue;
+                }
+                try {
+                    // a damaged magic number makes it a raw signal
+                    assertFalse(FramedContainer.decodeHeader(damaged).isPresent());
+                } catch (IOException expected) {
+                    rejected++;
+                }
+            }
+        }
+        assertTrue(rejected > 0);
+    }
+
+    @Test
+    public void headerOutOfBoundsIsRejected() {
+        byte hamming = CodecRegistry.forName(HammingCodec.NAME).id();
+        byte[][] headers = {
+                FramedContainer.encodeHeader(hamming, SIGNAL.length, Integer.MAX_VALUE - 1),
+                FramedContainer.encodeHeader(hamming, SIGNAL.length, FramedContainer.MAX_BLOCK_SIZE + 2),
+                FramedContainer.encodeHeader(hamming, Long.MAX_VALUE, BLOCK_SIZE),
+                FramedContainer.encodeHeader(hamming, -1, BLOCK_SIZE),
+        };
+        for (byte[] header : headers) {
+            try {
+                FramedContainer.decodeHeader(header);
+                fail();
+            } catch (IOException expected) {
+                assertTrue(expected.getMessage().startsWith("Invalid framed container header"));
+            }
+        }
+    }
+
+    @Test
+    public void corruptedBlocksAreReported() throws IOException {
+        FramedContainer container = new FramedContainer(CodecRegistry.forName(HammingCodec.NAME), SIGNAL.length,
+                BLOCK_SIZE);
+        byte[] encoded = write(container);
+        encoded[(int) container.frameOffset(2) + FramedContainer.ENCODED_CHECKSUM_LENGTH + 5] ^= (byte) 0xFF;
+
+        ByteArrayOutputStream signal = new ByteArrayOutputStream();
+        FramedContainer.Report report = read(encoded, signal);
+
+        assertEquals(Collections.singletonList(2L), report.corruptedBlocks);
+        assertEquals(0, report.missingBlocks());
+        assertEquals(SIGNAL.length, signal.size());
+    }
+
+    @Test
+    public void truncatedContainerGivesBackItsCompleteBlocks() throws IOException {
+        FramedContainer container = new FramedContainer(CodecRegistry.forName(HammingCodec.NAME), SIGNAL.length,
+                BLOCK_SIZE);
+        byte[] encoded = write(container);
+
+        ByteArrayOutputStream signal = new ByteArrayOutputStream();
+        FramedContainer.Report report = read(Arrays.copyOf(encoded, (int) container.frameOffset(3) + 10), signal);
+
+        assertEquals(3, report.decodedBlocks);
+        assertEquals(container.blockCount() - 3, report.missingBlocks());
+        assertArrayEquals(Arrays.copyOf(SIGNAL, 3 * BLOCK_SIZE), signal.toByteArray());
+    }
+
+    @Test
+    public void parallelReadMatchesTheSequentialOne() throws IOException {
+        FramedContainer container = new FramedContainer(CodecRegistry.forName(HammingCodec.NAME), SIGNAL.length,
+                BLOCK_SIZE);
+        Path encodedFile = Files.createTempFile("encoded", ".txt");
+        Path signalFile = Files.createTempFile("decoded", ".txt");
+        try {
+            Files.write(encodedFile, InterferenceGenerator.interfere(write(container)));
+
+            FramedContainer.Report report = container.readParallel(encodedFile, signalFile);
+
+            assertTrue(report.isComplete());
+            assertArrayEquals(SIGNAL, Files.readAllBytes(signalFile));
+        } finally {
+            Files.delete(encodedFile);
+            Files.delete(signalFile);
+        }
+    }
+
+    @Test
+    public void blockSizeMustBeWholeCodecBlocks() {
+        Codec codec = CodecRegistry.forName(BitRepetitionCodec.NAME);
+        assertEquals(96, FramedContainer.blockSizeFor(codec, 98));
+        assertEquals(3, FramedContainer.blockSizeFor(codec, 1));
+        try {
+            new FramedContainer(codec, SIGNAL.length, 100);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertFalse(expected.getMessage().isEmpty());
+        }
+        try {
+            // 63 copies of the largest block do not fit in a frame
+            new FramedContainer(new RepetitionCodec(RepetitionCodec.MAX_COPIES), SIGNAL.length,
+                    FramedContainer.MAX_BLOCK_SIZE);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertFalse(expected.getMessage().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GeneralizedHammingCodecTest {
+
+    private static Codec[] codecs() {
+        return new Codec[]{
+                CodecRegistry.forName("hamming-15-11"),
+                CodecRegistry.forName("hamming-31-26"),
+                CodecRegistry.forName("hamming-63-57")
+        };
+    }
+
+    @Test
+    public void blocksHoldEightCodewords() {
+        for (Codec codec : codecs()) {
+            assertSame(GeneralizedHammingCodec.class, codec.getClass());
+            assertEquals(Integer.parseInt(codec.name().split("-")[1]), codec.encodedBlock());
+            assertEquals(Integer.parseInt(codec.name().split("-")[2]), codec.signalBlock());
+            assertEquals(codec.encodedLength(codec.signalBlock()), codec.encodedBlock());
+        }
+        assertEquals(11.0 / 15, CodecRegistry.forName("hamming-15-11").codeRate(), 0);
+    }
+
+    @Test
+    public void everyLengthRoundTrips() {
+        Random random = new Random(16);
+        for (Codec codec : codecs()) {
+            for (int length = 0; length <= 3 * codec.signalBlock(); length++) {
+                byte[] signal = new byte[length];
+                random.nextBytes(signal);
+
+                byte[] encodedSignal = codec.encode(signal);
+                assertEquals(codec.encodedLength(length), encodedSignal.length);
+                assertEquals(codec.name() + " length " + length, length, codec.decodedLength(encodedSignal.length));
+                assertArrayEquals(codec.name() + " length " + length, signal, codec.decode(encodedSignal));
+            }
+        }
+    }
+
+    @Test
+    public void partialBlocksAreShorterThanABlock() {
+        for (Codec codec : codecs()) {
+            for (int length = 1; length < codec.signalBlock(); length++) {
+                assertTrue(codec.encodedLength(length) > codec.encodedLength(length - 1));
+                assertTrue(codec.encodedLength(length) < codec.encodedBlock());
+            }
+        }
+    }
+
+    @Test
+    public void oneErrorPerCodewordIsCorrected() {
+        Random random = new Random(17);
+        for (Codec codec : codecs()) {
+            int n = codec.encodedBlock();
+            byte[] signal = new byte[codec.signalBlock() * 64];
+            random.nextBytes(signal);
+            byte[] encodedSignal = codec.encode(signal);
+
+            for (int position = 0; position < n; position++) {
+                byte[] received = encodedSignal.clone();
+                for (int bit = position; bit < received.length * Coder.BYTE_BITS_AMOUNT; bit += n) {
+                    received[bit / Coder.BYTE_BITS_AMOUNT] ^= 0x80 >>> bit % Coder.BYTE_BITS_AMOUNT;
+                }
+                assertArrayEquals(codec.name() + " position " + position, signal, codec.decode(received));
+            }
+        }
+    }
+
+    @Test
+    public void shortenedCodewordErrorsAreCorrected() {
+        Random random = new Random(18);
+        for (Codec codec : codecs()) {
+            for (int length = 1; length < codec.signalBlock(); length++) {
+                byte[] signal = new byte[length];
+                random.nextBytes(signal);
+                byte[] encodedSignal = codec.encode(signal);
+
+                int start = length * Coder.BYTE_BITS_AMOUNT / codec.signalBlock() * codec.encodedBlock();
+                for (int bit = start; bit < encodedSignal.length * Coder.BYTE_BITS_AMOUNT; bit++) {
+                    byte[] received = encodedSignal.clone();
+                    received[bit / Coder.BYTE_BITS_AMOUNT] ^= 0x80 >>> bit % Coder.BYTE_BITS_AMOUNT;
+                    assertArrayEquals(codec.name() + " length " + length + " bit " + bit,
+                            signal, codec.decode(received));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void decodesIntoARange() {
+        Codec codec = CodecRegistry.forName("hamming-31-26");
+        byte[] signal = new byte[100];
+        new Random(19).nextBytes(signal);
+        byte[] encodedSignal = new byte[codec.encodedLength(signal.length) + 3];
+        codec.encode(signal, 0, signal.length, encodedSignal, 3);
+
+        byte[] decoded = new byte[signal.length + 5];
+        assertEquals(signal.length, codec.decode(encodedSignal, 3, encodedSignal.length - 3, decoded, 5));
+        assertArrayEquals(signal, Arrays.copyOfRange(decoded, 5, decoded.length));
+    }
+
+    @Test
+    public void parityBitsAreChecked() {
+        try {
+            new GeneralizedHammingCodec(GeneralizedHammingCodec.MAX_PARITY_BITS + 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("7"));
+        }
+    }
+}
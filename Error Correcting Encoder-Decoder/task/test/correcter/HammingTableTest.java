@@ -0,0 +1,80 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class HammingTableTest {
+
+    @Test
+    public void encodeTableMatchesBitwiseForEveryByte() {
+        byte[] signal = allBytes();
+
+        assertArrayEquals(HammingEncoder.encodeBitwise(signal), HammingEncoder.encodeTable(signal));
+    }
+
+    @Test
+    public void decodeTableMatchesBitwiseForEveryReceivedPair() {
+        byte[] encodedSignal = new byte[256 * 256 * 2];
+        for (int i = 0; i < 256 * 256; i++) {
+            encodedSignal[i * 2] = (byte) (i >>> 8);
+            encodedSignal[i * 2 + 1] = (byte) i;
+        }
+
+        assertArrayEquals(HammingDecoder.decodeBitwise(encodedSignal), HammingDecoder.decodeTable(encodedSignal));
+    }
+
+    @Test
+    public void swarMatchesBitwiseForEveryReceivedPair() {
+        byte[] encodedSignal = new byte[256 * 256 * 2];
+        for (int i = 0; i < 256 * 256; i++) {
+            encodedSignal[i * 2] = (byte) (i >>> 8);
+            encodedSignal[i * 2 + 1] = (byte) i;
+        }
+
+        byte[] signal = new byte[256 * 256];
+        HammingDecoder.decodeWords(encodedSignal, 0, encodedSignal.length / Long.BYTES, signal, 0);
+
+        assertArrayEquals(HammingDecoder.decodeBitwise(encodedSignal), signal);
+    }
+
+    @Test
+    public void swarMatchesBitwiseAtUnalignedOffsets() {
+        byte[] encodedSignal = new byte[1000];
+        new Random(7).nextBytes(encodedSignal);
+
+        for (int offset = 0; offset < 9; offset++) {
+            int words = (encodedSignal.length - offset) / Long.BYTES;
+            byte[] expected = HammingDecoder.decodeBitwise(
+                    Arrays.copyOfRange(encodedSignal, offset, offset + words * Long.BYTES));
+            byte[] signal = new byte[expected.length + 3];
+            HammingDecoder.decodeWords(encodedSignal, offset, words, signal, 3);
+
+            assertArrayEquals(expected, Arrays.copyOfRange(signal, 3, signal.length));
+        }
+    }
+
+    @Test
+    public void tablesMatchBitwiseOnInterferedRandomSignal() {
+        byte[] signal = new byte[4096];
+        new Random(42).nextBytes(signal);
+
+        byte[] encodedSignal = HammingEncoder.encodeTable(signal);
+        assertArrayEquals(HammingEncoder.encodeBitwise(signal), encodedSignal);
+
+        byte[] received = InterferenceGenerator.interfere(encodedSignal);
+        assertArrayEquals(HammingDecoder.decodeBitwise(received), HammingDecoder.decodeTable(received));
+        assertArrayEquals(signal, HammingDecoder.decodeTable(received));
+    }
+
+    static byte[] allBytes() {
+        byte[] signal = new byte[256];
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = (byte) i;
+        }
+        return signal;
+    }
+}
@@ -0,0 +1,115 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InterleaverTest {
+
+    @Test
+    public void transposeMovesEveryBitAcrossTheDiagonal() {
+        for (int row = 0; row < Long.BYTES; row++) {
+            for (int column = 0; column < Byte.SIZE; column++) {
+                long matrix = 1L << (Long.SIZE - 1 - (row * Byte.SIZE + column));
+                long transposed = 1L << (Long.SIZE - 1 - (column * Byte.SIZE + row));
+                assertEquals(transposed, Interleaver.transpose(matrix));
+            }
+        }
+    }
+
+    @Test
+    public void deinterleaveRestoresTheSignal() {
+        Random random = new Random(19);
+        for (int depth = 8; depth <= 136; depth += 8) {
+            Interleaver interleaver = new Interleaver(depth);
+            byte[] signal = new byte[depth * 3 + 5];
+            random.nextBytes(signal);
+
+            byte[] interleaved = new byte[signal.length + 2];
+            interleaver.interleave(signal, 0, signal.length, interleaved, 2);
+            byte[] restored = new byte[signal.length];
+            interleaver.deinterleave(interleaved, 2, signal.length, restored, 0);
+
+            assertArrayEquals("depth " + depth, signal, restored);
+        }
+    }
+
+    @Test
+    public void bitsOfAByteAreDepthBitsApart() {
+        int depth = 32;
+        byte[] signal = new byte[depth];
+        signal[5] = (byte) 0xFF;
+
+        byte[] interleaved = new byte[depth];
+        new Interleaver(depth).interleave(signal, 0, depth, interleaved, 0);
+
+        for (int bit = 0; bit < depth * Byte.SIZE; bit++) {
+            boolean set = (interleaved[bit / Byte.SIZE] & 0x80 >>> bit % Byte.SIZE) != 0;
+            assertEquals("bit " + bit, bit % depth == 5, set);
+        }
+    }
+
+    @Test
+    public void burstsWithinTheDepthAreCorrected() {
+        Codec codec = CodecRegistry.forName(InterleavedCodec.PREFIX + ExtendedHammingCodec.NAME);
+        assertSame(InterleavedCodec.class, codec.getClass());
+
+        Random random = new Random(20);
+        byte[] signal = new byte[codec.signalBlock() * 5 + 7];
+        random.nextBytes(signal);
+        byte[] encodedSignal = codec.encode(signal);
+        int encodedBits = codec.encodedBlock() * 5 * Byte.SIZE;
+
+        for (int start = 0; start + Interleaver.DEFAULT_DEPTH <= encodedBits; start += 997) {
+            byte[] received = encodedSignal.clone();
+            for (int bit = start; bit < start + Interleaver.DEFAULT_DEPTH; bit++) {
+                received[bit / Byte.SIZE] ^= 0x80 >>> bit % Byte.SIZE;
+            }
+            assertArrayEquals("burst at " + start, signal, codec.decode(received));
+
+            byte[] plain = CodecRegistry.forName(ExtendedHammingCodec.NAME).decode(received);
+            assertFalse(Arrays.equals(signal, plain));
+        }
+    }
+
+    @Test
+    public void interleavedCodecsRoundTrip() {
+        Random random = new Random(21);
+        for (String name : CodecRegistry.names()) {
+            if (!name.startsWith(InterleavedCodec.PREFIX)) {
+                continue;
+            }
+            Codec codec = CodecRegistry.forName(name);
+            int block = codec.signalBlock();
+            for (int length : new int[]{0, 1, block - 1, block, block * 3 + 2}) {
+                byte[] signal = new byte[length];
+                random.nextBytes(signal);
+                assertArrayEquals(name + " length " + length, signal, codec.decode(codec.encode(signal)));
+            }
+        }
+    }
+
+    @Test
+    public void depthIsChecked() {
+        try {
+            new Interleaver(12);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("12"));
+        }
+        try {
+            new InterleavedCodec(CodecRegistry.forName(BitRepetitionCodec.NAME), 20);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(BitRepetitionCodec.NAME));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NoiseChannelTest {
+
+    private static final int LENGTH = 4 * 1024 * 1024 + 123;
+
+    private static byte[] signal() {
+        byte[] signal = new byte[LENGTH];
+        new Random(3).nextBytes(signal);
+        return signal;
+    }
+
+    private static long flippedBits(byte[] signal, byte[] received) {
+        long flipped = 0;
+        for (int i = 0; i < signal.length; i++) {
+            flipped += Integer.bitCount((signal[i] ^ received[i]) & 0xFF);
+        }
+        return flipped;
+    }
+
+    @Test
+    public void errorsDependOnlyOnTheSeed() {
+        NoiseChannel channel = new NoiseChannel(ErrorModel.binarySymmetric(0.01), 42);
+        byte[] signal = signal();
+        byte[] sequential = new byte[LENGTH];
+        channel.transmit(signal, 0, LENGTH, sequential, 0, 0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] parallel = new byte[LENGTH];
+            new ParallelEngine(pool, NoiseChannel.BLOCK).transform(channel.transform(0), signal, 0, LENGTH,
+                    parallel, 0);
+            assertArrayEquals(sequential, parallel);
+        } finally {
+            pool.shutdown();
+        }
+
+        int half = 8 * NoiseChannel.BLOCK;
+        byte[] chunked = new byte[LENGTH];
+        channel.transmit(signal, 0, half, chunked, 0, 0);
+        channel.transmit(signal, half, LENGTH - half, chunked, half, half);
+        assertArrayEquals(sequential, chunked);
+
+        assertArrayEquals(sequential, new NoiseChannel(ErrorModel.binarySymmetric(0.01), 42).transmit(signal));
+        assertFalse(Arrays.equals(sequential, new NoiseChannel(ErrorModel.binarySymmetric(0.01), 43).transmit(signal)));
+    }
+
+    @Test
+    public void rangesMustStartOnNoiseBlocks() {
+        NoiseChannel channel = new NoiseChannel(ErrorModel.singleBit(), 1);
+        try {
+            channel.transmit(new byte[10], 0, 10, new byte[10], 0, 5);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertFalse(expected.getMessage().isEmpty());
+        }
+    }
+
+    @Test
+    public void singleBitFlipsOneBitOfEveryByte() {
+        byte[] signal = signal();
+        byte[] received = new NoiseChannel(ErrorModel.singleBit(), 7).transmit(signal);
+
+        int[] positions = new int[Byte.SIZE];
+        for (int i = 0; i < LENGTH; i++) {
+            int flipped = (signal[i] ^ received[i]) & 0xFF;
+            assertEquals(1, Integer.bitCount(flipped));
+            positions[Integer.numberOfTrailingZeros(flipped)]++;
+        }
+        for (int count : positions) {
+            assertEquals(LENGTH / 8.0, count, LENGTH / 8.0 * 0.02);
+        }
+    }
+
+    @Test
+    public void fixedBitMatchesTheInterferenceGenerator() {
+        byte[] signal = signal();
+
+        assertArrayEquals(InterferenceGenerator.interfere(signal.clone()),
+                new NoiseChannel(ErrorModel.fixedBit(), 0).transmit(signal));
+    }
+
+    @Test
+    public void binarySymmetricChannelFollowsTheBitErrorRate() {
+        byte[] signal = signal();
+        double bits = LENGTH * 8.0;
+
+        for (double bitErrorRate : new double[]{1e-4, 1e-2, 0.5}) {
+            byte[] received = new NoiseChannel(ErrorModel.binarySymmetric(bitErrorRate), 11).transmit(signal);
+            assertEquals(bitErrorRate, flippedBits(signal, received) / bits, bitErrorRate * 0.05);
+        }
+
+        assertArrayEquals(signal, new NoiseChannel(ErrorModel.binarySymmetric(0), 11).transmit(signal));
+        assertEquals(LENGTH * 8L, flippedBits(signal, new NoiseChannel(ErrorModel.binarySymmetric(1), 11)
+                .transmit(signal)));
+    }
+
+    @Test
+    public void burstsStayWithinTheirLength() {
+        int burstLength = 16;
+        byte[] signal = signal();
+        byte[] received = new NoiseChannel(ErrorModel.burst(1e-4, burstLength), 5).transmit(signal);
+
+        long burstStart = -1;
+        long lastFlip = -1;
+        int bursts = 0;
+        for (long bit = 0; bit < LENGTH * 8L; bit++) {
+            if (((signal[(int) (bit >>> 3)] ^ received[(int) (bit >>> 3)]) & 0x80 >>> (bit & 7)) == 0) {
+                continue;
+            }
+            if (lastFlip < 0 || bit - burstStart >= burstLength) {
+                burstStart = bit;
+                bursts++;
+            }
+            lastFlip = bit;
+        }
+
+        assertEquals(LENGTH * 8 * 1e-4, bursts, LENGTH * 8 * 1e-4 * 0.05);
+    }
+
+    @Test
+    public void symbolErrorsReplaceWholeBytes() {
+        byte[] signal = signal();
+        byte[] received = new NoiseChannel(ErrorModel.symbol(1e-3), 9).transmit(signal);
+
+        int replaced = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            if (signal[i] != received[i]) {
+                replaced++;
+            }
+        }
+        assertEquals(LENGTH * 1e-3, replaced, LENGTH * 1e-3 * 0.05);
+    }
+
+    @Test
+    public void hugeGapsAfterAnErrorEndTheBlock() {
+        // reseeds to s1 = 0, so the first gap is 0 and the next one is Long.MAX_VALUE at such a rate
+        long seed = -2 * 0x9E3779B97F4A7C15L;
+        for (ErrorModel model : new ErrorModel[]{ErrorModel.binarySymmetric(1e-300), ErrorModel.burst(1e-300, 1),
+                ErrorModel.symbol(1e-300)}) {
+            byte[] signal = new byte[100];
+            model.corrupt(signal, 0, signal.length, new NoiseRandom(seed));
+
+            assertTrue(signal[0] != 0);
+            assertArrayEquals(new byte[signal.length - 1], Arrays.copyOfRange(signal, 1, signal.length));
+        }
+    }
+
+    @Test
+    public void modelsAreParsedFromTheCommandLine() {
+        byte[] signal = signal();
+        assertArrayEquals(new NoiseChannel(ErrorModel.burst(1e-3, 8), 1).transmit(signal),
+                new NoiseChannel(ErrorModel.parse("burst:1e-3:8"), 1).transmit(signal));
+        assertNotNull(ErrorModel.parse("single-bit"));
+        assertNotNull(ErrorModel.parse("BSC:0.001"));
+
+        for (String specification : new String[]{"gauss", "bsc", "bsc:2", "burst:0.1"}) {
+            try {
+                ErrorModel.parse(specification);
+                fail(specification);
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage().contains(specification));
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ParallelEngineTest {
+
+    private static final int THRESHOLD = 1000;
+
+    @Test
+    public void forkJoinMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertMatchesSequential(new ParallelEngine(pool, THRESHOLD));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void executorMatchesSequential() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertMatchesSequential(new ParallelEngine(executor, THRESHOLD));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void bitLevelForkJoinMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertBitLevelMatchesSequential(new ParallelEngine(pool, THRESHOLD));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void bitLevelExecutorMatchesSequential() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertBitLevelMatchesSequential(new ParallelEngine(executor, THRESHOLD));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void smallSignalStaysSequential() {
+        ParallelEngine engine = new ParallelEngine(command -> {
+            throw new AssertionError("A small signal must not be split");
+        }, THRESHOLD);
+
+        byte[] signal = randomSignal(THRESHOLD - 1);
+        assertArrayEquals(HammingEncoder.encode(signal), engine.encode(signal));
+    }
+
+    private static void assertMatchesSequential(ParallelEngine engine) {
+        for (int length : new int[]{0, 1, THRESHOLD - 1, THRESHOLD, THRESHOLD * 7 + 3, 100_001}) {
+            byte[] signal = randomSignal(length);
+            byte[] encodedSignal = engine.encode(signal);
+            assertArrayEquals(HammingEncoder.encode(signal), encodedSignal);
+
+            byte[] received = InterferenceGenerator.interfere(encodedSignal);
+            assertArrayEquals(HammingDecoder.decode(received), engine.decode(received));
+            assertArrayEquals(signal, engine.decode(received));
+        }
+    }
+
+    private static void assertBitLevelMatchesSequential(ParallelEngine engine) {
+        for (int length = 0; length < 12; length++) {
+            assertBitLevelMatchesSequential(engine, randomSignal(length));
+        }
+        for (int length : new int[]{THRESHOLD - 1, THRESHOLD, THRESHOLD + 1, THRESHOLD * 7 + 2, 100_001}) {
+            assertBitLevelMatchesSequential(engine, randomSignal(length));
+        }
+    }
+
+    private static void assertBitLevelMatchesSequential(ParallelEngine engine, byte[] signal) {
+        byte[] encodedSignal = engine.encodeBits(signal);
+        assertArrayEquals(Encoder.encode(signal), encodedSignal);
+
+        byte[] received = InterferenceGenerator.interfere(encodedSignal);
+        assertArrayEquals(Decoder.decode(received), engine.decodeBits(received));
+        for (int length = 0; length < encodedSignal.length && length < 20; length++) {
+            byte[] truncated = java.util.Arrays.copyOf(received, length);
+            assertArrayEquals(Decoder.decode(truncated), engine.decodeBits(truncated));
+        }
+    }
+
+    private static byte[] randomSignal(int length) {
+        byte[] signal = new byte[length];
+        new Random(length).nextBytes(signal);
+        return signal;
+    }
+}
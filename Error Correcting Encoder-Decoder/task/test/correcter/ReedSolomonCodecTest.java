@@ -0,0 +1,107 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ReedSolomonCodecTest {
+
+    private final ReedSolomonCodec codec = new ReedSolomonCodec();
+
+    @Test
+    public void everyLengthRoundTrips() {
+        Random random = new Random(17);
+        for (int length = 0; length <= 2 * ReedSolomonCodec.DATA_LENGTH + 1; length++) {
+            byte[] signal = new byte[length];
+            random.nextBytes(signal);
+
+            byte[] encodedSignal = codec.encode(signal);
+            assertEquals(codec.encodedLength(length), encodedSignal.length);
+            assertEquals(length, codec.decodedLength(encodedSignal.length));
+            assertArrayEquals("length " + length, signal, codec.decode(encodedSignal));
+        }
+        assertSame(ReedSolomonCodec.class, CodecRegistry.forName(ReedSolomonCodec.NAME).getClass());
+    }
+
+    @Test
+    public void theCodeIsLinear() {
+        Random random = new Random(21);
+        byte[] first = new byte[ReedSolomonCodec.DATA_LENGTH + 50];
+        byte[] second = new byte[first.length];
+        random.nextBytes(first);
+        random.nextBytes(second);
+
+        byte[] sum = new byte[first.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = (byte) (first[i] ^ second[i]);
+        }
+
+        byte[] encodedFirst = codec.encode(first);
+        byte[] encodedSecond = codec.encode(second);
+        for (int i = 0; i < encodedFirst.length; i++) {
+            encodedFirst[i] ^= encodedSecond[i];
+        }
+        assertArrayEquals(codec.encode(sum), encodedFirst);
+        assertArrayEquals(new byte[codec.encodedLength(10)], codec.encode(new byte[10]));
+    }
+
+    @Test
+    public void sixteenByteErrorsAreCorrected() {
+        Random random = new Random(18);
+        byte[] signal = new byte[ReedSolomonCodec.DATA_LENGTH * 4 + 100];
+        random.nextBytes(signal);
+        byte[] encodedSignal = codec.encode(signal);
+
+        for (int round = 0; round < 50; round++) {
+            byte[] received = encodedSignal.clone();
+            for (int block = 0; block < received.length; block += ReedSolomonCodec.BLOCK_LENGTH) {
+                int blockLength = Math.min(ReedSolomonCodec.BLOCK_LENGTH, received.length - block);
+                int errors = 1 + random.nextInt(ReedSolomonCodec.PARITY_LENGTH / 2);
+                for (int i = 0; i < errors; i++) {
+                    received[block + random.nextInt(blockLength)] ^= 1 + random.nextInt(255);
+                }
+            }
+
+            byte[] decoded = new byte[signal.length];
+            assertEquals(0, codec.decodeCounting(received, 0, received.length, decoded, 0));
+            assertArrayEquals("round " + round, signal, decoded);
+        }
+    }
+
+    @Test
+    public void burstErrorsAreCorrected() {
+        Random random = new Random(19);
+        byte[] signal = new byte[ReedSolomonCodec.DATA_LENGTH];
+        random.nextBytes(signal);
+        byte[] encodedSignal = codec.encode(signal);
+
+        for (int start = 0; start + 16 <= encodedSignal.length; start += 7) {
+            byte[] received = encodedSignal.clone();
+            for (int i = start; i < start + 16; i++) {
+                received[i] = (byte) ~received[i];
+            }
+            assertArrayEquals("burst at " + start, signal, codec.decode(received));
+        }
+    }
+
+    @Test
+    public void tooManyErrorsAreReported() {
+        Random random = new Random(20);
+        byte[] signal = new byte[ReedSolomonCodec.DATA_LENGTH];
+        random.nextBytes(signal);
+        byte[] received = codec.encode(signal);
+
+        for (int i = 0; i < 40; i++) {
+            received[i * 6] ^= 0x5A;
+        }
+
+        byte[] decoded = new byte[signal.length];
+        assertEquals(1, codec.decodeCounting(received, 0, received.length, decoded, 0));
+        assertArrayEquals(Arrays.copyOf(received, signal.length), decoded);
+    }
+}
@@ -0,0 +1,81 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RepetitionCodecTest {
+
+    @Test
+    public void everyLengthRoundTrips() {
+        Random random = new Random(18);
+        for (int copies = 1; copies <= 9; copies += 2) {
+            Codec codec = new RepetitionCodec(copies);
+            for (int length = 0; length <= 2 * RepetitionCodec.BLOCK + 9; length++) {
+                byte[] signal = new byte[length];
+                random.nextBytes(signal);
+
+                byte[] encodedSignal = codec.encode(signal);
+                assertEquals(length * copies, encodedSignal.length);
+                assertArrayEquals(codec.name() + " length " + length, signal, codec.decode(encodedSignal));
+            }
+        }
+        assertSame(RepetitionCodec.class, CodecRegistry.forName("repetition-5").getClass());
+    }
+
+    @Test
+    public void everyBitTakesTheMajority() {
+        Random random = new Random(19);
+        for (int copies = 3; copies <= 15; copies += 2) {
+            Codec codec = new RepetitionCodec(copies);
+            byte[] signal = new byte[RepetitionCodec.BLOCK + 13];
+            random.nextBytes(signal);
+            byte[] received = codec.encode(signal);
+
+            // every bit is flipped in a minority of the copies, chosen at random
+            for (int i = 0; i < signal.length; i++) {
+                int blockStart = i / RepetitionCodec.BLOCK * RepetitionCodec.BLOCK;
+                int blockLength = Math.min(RepetitionCodec.BLOCK, signal.length - blockStart);
+                for (int bit = 0; bit < Coder.BYTE_BITS_AMOUNT; bit++) {
+                    int flips = random.nextInt(copies / 2 + 1);
+                    int firstCopy = random.nextInt(copies);
+                    for (int f = 0; f < flips; f++) {
+                        int copy = (firstCopy + f) % copies;
+                        received[blockStart * copies + copy * blockLength + i - blockStart] ^= 1 << bit;
+                    }
+                }
+            }
+
+            assertArrayEquals("copies " + copies, signal, codec.decode(received));
+        }
+    }
+
+    @Test
+    public void aBurstWithinABlockIsCorrected() {
+        Codec codec = CodecRegistry.forName("repetition-3");
+        byte[] signal = new byte[RepetitionCodec.BLOCK * 4];
+        new Random(20).nextBytes(signal);
+        byte[] received = codec.encode(signal);
+
+        for (int i = 100; i < 100 + RepetitionCodec.BLOCK; i++) {
+            received[i] = (byte) ~received[i];
+        }
+        assertArrayEquals(signal, codec.decode(received));
+    }
+
+    @Test
+    public void copiesMustBeOdd() {
+        try {
+            new RepetitionCodec(4);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("4"));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package correcter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs only on JDK 17+ with the src17 classes and --add-modules jdk.incubator.vector
+ */
+public class VectorBackendTest {
+
+    private static VectorBackend backend() {
+        assumeTrue(VectorBackend.INSTANCE.isPresent());
+        return VectorBackend.INSTANCE.get();
+    }
+
+    @Test
+    public void encodeMatchesBitwiseForEveryByte() {
+        byte[] signal = new byte[256 * 4];
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = (byte) i;
+        }
+        byte[] encodedSignal = new byte[signal.length * 2];
+
+        int encoded = backend().encode(signal, 0, signal.length, encodedSignal, 0);
+
+        assertEquals(signal.length, encoded);
+        assertArrayEquals(HammingEncoder.encodeBitwise(signal), encodedSignal);
+    }
+
+    @Test
+    public void decodeMatchesBitwiseForEveryReceivedPair() {
+        byte[] encodedSignal = new byte[256 * 256 * 2];
+        for (int i = 0; i < 256 * 256; i++) {
+            encodedSignal[i * 2] = (byte) (i >>> 8);
+            encodedSignal[i * 2 + 1] = (byte) i;
+        }
+        byte[] signal = new byte[256 * 256];
+
+        int decoded = backend().decode(encodedSignal, 0, signal.length, signal, 0);
+
+        assertEquals(signal.length, decoded);
+        assertArrayEquals(HammingDecoder.decodeBitwise(encodedSignal), signal);
+    }
+
+    @Test
+    public void prefixesAtUnalignedOffsetsMatchTheScalarCode() {
+        VectorBackend backend = backend();
+        byte[] signal = new byte[1000];
+        new Random(11).nextBytes(signal);
+
+        for (int offset = 0; offset < 9; offset++) {
+            int length = signal.length - offset;
+
+            byte[] encodedSignal = new byte[length * 2];
+            int encoded = backend.encode(signal, offset, length, encodedSignal, 0);
+            assertArrayEquals(HammingEncoder.encodeBitwise(Arrays.copyOfRange(signal, offset, offset + encoded)),
+                    Arrays.copyOf(encodedSignal, encoded * 2));
+
+            byte[] decoded = new byte[length / 2];
+            int pairs = backend.decode(signal, offset, length / 2, decoded, 0);
+            assertArrayEquals(HammingDecoder.decodeBitwise(Arrays.copyOfRange(signal, offset, offset + pairs * 2)),
+                    Arrays.copyOf(decoded, pairs));
+
+            byte[] interfered = new byte[length];
+            int interferedLength = backend.interfere(signal, offset, length, interfered, 0);
+            assertArrayEquals(InterferenceGenerator.interfere(Arrays.copyOfRange(signal, offset,
+                    offset + interferedLength)), Arrays.copyOf(interfered, interferedLength));
+        }
+    }
+}